@@ -0,0 +1,89 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting 1000 items in one rolled back transaction, row by row and with JDBC batching. Both variants take ids from
+ * the pooled sequence, so batchSize=1 isolates batching rather than reproducing the old IDENTITY mapping. By default it
+ * runs on the in-memory H2 of the test profile, where batching gains nothing; pass
+ * {@code -p jdbcUrl=jdbc:postgresql://localhost:6541/shareit?reWriteBatchedInserts=true} to measure the docker-compose
+ * Postgres. The schema is recreated on startup, so use a scratch database. Not part of the regression gate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemInsertBenchmark {
+    private static final int ROWS = 1000;
+    @Param({"1", "50"})
+    public int batchSize;
+    @Param({""})
+    public String jdbcUrl;
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of("--shareit.slow-query.enabled=false",
+                "--shareit.statement-count.enabled=false", "--logging.level.root=WARN"));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE);
+        if (jdbcUrl.isEmpty()) {
+            builder.profiles("test");
+        } else {
+            args.add("--spring.datasource.url=" + jdbcUrl);
+        }
+        context = builder.run(args.toArray(new String[0]));
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insertItems() {
+        Long ownerId = transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            User owner = User.builder().name("Owner").email("owner@mail.ru").build();
+            entityManager.persist(owner);
+            for (int row = 0; row < ROWS; row++) {
+                entityManager.persist(Item.builder().name("Item" + row).description("Item" + row)
+                        .available(true).owner(owner).build());
+            }
+            entityManager.flush();
+            status.setRollbackOnly();
+            return owner.getId();
+        });
+        return ownerId;
+    }
+}
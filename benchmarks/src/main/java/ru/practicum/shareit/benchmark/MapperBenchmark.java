@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoForBooking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.ItemRequestMapper;
+import ru.practicum.shareit.requests.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Item item;
+    private Booking booking;
+    private ItemRequest itemRequest;
+    private List<ItemDto> requestItems;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2022, 9, 1, 10, 0);
+        User owner = User.builder().id(1L).name("Owner").email("owner@mail.ru").build();
+        User booker = User.builder().id(2L).name("Booker").email("booker@mail.ru").build();
+        itemRequest = ItemRequest.builder().id(1L).description("Need a drill").requestor(booker).created(now).build();
+        item = Item.builder().id(1L).name("Drill").description("Cordless drill").available(true).owner(owner)
+                .itemRequest(itemRequest).build();
+        item.setComments(List.of(
+                Comment.builder().id(1L).text("Great").item(item).author(booker).created(now).build(),
+                Comment.builder().id(2L).text("Works").item(item).author(booker).created(now).build()));
+        item.setLastBooking(Booking.builder().id(1L).item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(now.minusDays(2)).end(now.minusDays(1)).build());
+        item.setNextBooking(Booking.builder().id(2L).item(item).booker(booker).status(BookingStatus.WAITING)
+                .start(now.plusDays(1)).end(now.plusDays(2)).build());
+        booking = item.getLastBooking();
+        requestItems = List.of(ItemMapper.toItemDto(item), ItemMapper.toItemDto(item));
+    }
+
+    @Benchmark
+    public ItemDtoForBooking itemToDtoWithBooking() {
+        return ItemMapper.toItemDtoWithBooking(item);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemRequestResponseDto itemRequestToResponseDto() {
+        return ItemRequestMapper.toItemRequestResponseDto(itemRequest, requestItems);
+    }
+}
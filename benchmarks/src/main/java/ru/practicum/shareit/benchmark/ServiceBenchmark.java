@@ -0,0 +1,151 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.requests.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.requests.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int ITEMS = 20;
+    private static final int PAGE = 20;
+    private static final String BOOKER_FILTER = "where bk.id = :bookerId" + BookingRepository.ORDER_BY_START_DESC;
+    private static final String BOOKER_PROJECTION = BookingRepository.SELECT_RESPONSE_DTO + BOOKER_FILTER;
+    private static final String BOOKER_ENTITIES = "select b from Booking b join fetch b.booker bk " +
+            "join fetch b.item i left join i.itemRequest r " + BOOKER_FILTER;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private ItemService itemService;
+    private ItemRequestService itemRequestService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private long ownerId;
+    private long bookerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--shareit.slow-query.enabled=false", "--shareit.statement-count.enabled=false",
+                        "--logging.level.root=WARN");
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        transactionTemplate.executeWithoutResult(status -> seed(entityManager));
+        readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingsByBooker() {
+        return bookingService.getAll(bookerId, "ALL", 0, PAGE);
+    }
+
+    /**
+     * The repository's constructor projection for the booker's bookings, without the service's user lookup.
+     */
+    @Benchmark
+    public List<BookingResponseDto> bookerPageAsProjection() {
+        return readOnly.execute(status -> entityManager.createQuery(BOOKER_PROJECTION, BookingResponseDto.class)
+                .setParameter("bookerId", bookerId)
+                .setMaxResults(PAGE)
+                .getResultList());
+    }
+
+    /**
+     * The same joins, filter, order and page as {@link #bookerPageAsProjection()}, fetching entities and mapping them.
+     */
+    @Benchmark
+    public List<BookingResponseDto> bookerPageAsEntities() {
+        return readOnly.execute(status -> entityManager.createQuery(BOOKER_ENTITIES, Booking.class)
+                .setParameter("bookerId", bookerId)
+                .setMaxResults(PAGE)
+                .getResultList()
+                .stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingsByOwner() {
+        return bookingService.getAllBookingByOwner(ownerId, "PAST", 0, PAGE);
+    }
+
+    @Benchmark
+    public List<Item> itemsByOwner() {
+        return itemService.findAll(ownerId, 0, PAGE);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponseDto> requestsByRequestor() {
+        return itemRequestService.findAll(bookerId);
+    }
+
+    private void seed(EntityManager entityManager) {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().name("Owner").email("owner@mail.ru").build();
+        User booker = User.builder().name("Booker").email("booker@mail.ru").build();
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        for (int i = 0; i < ITEMS; i++) {
+            ItemRequest itemRequest = ItemRequest.builder().description("Request " + i).requestor(booker)
+                    .created(now.minusDays(i)).build();
+            entityManager.persist(itemRequest);
+            Item item = Item.builder().name("Item " + i).description("Description " + i).available(true)
+                    .owner(owner).itemRequest(itemRequest).build();
+            entityManager.persist(item);
+            entityManager.persist(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .start(now.minusDays(i + 2)).end(now.minusDays(i + 1)).build());
+            entityManager.persist(Booking.builder().item(item).booker(booker).status(BookingStatus.WAITING)
+                    .start(now.plusDays(i + 1)).end(now.plusDays(i + 2)).build());
+            entityManager.persist(Comment.builder().item(item).author(booker).text("Comment " + i)
+                    .created(now).build());
+        }
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.practicum.shareit.sql.SlowQueryLog;
+import ru.practicum.shareit.sql.SlowQueryProperties;
+import ru.practicum.shareit.sql.TimedDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A prepared in-memory select through the raw H2 connection and through the slow query timing proxies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimedDataSourceBenchmark {
+    @Param({"raw", "timed"})
+    public String dataSource;
+    private Connection connection;
+    private long id;
+
+    @Setup
+    public void setUp() throws SQLException {
+        DataSource raw = new DriverManagerDataSource("jdbc:h2:mem:slow-query-benchmark");
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ofSeconds(1));
+        connection = "timed".equals(dataSource)
+                ? new TimedDataSource(raw, new SlowQueryLog(properties)).getConnection()
+                : raw.getConnection();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long selectById() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select cast(? as bigint) + 1")) {
+            statement.setLong(1, id++);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
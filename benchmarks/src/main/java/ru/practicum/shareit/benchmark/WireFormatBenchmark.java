@@ -0,0 +1,63 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a 500-booking page in the server's JSON and Smile configurations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final int SIZE = 500;
+    @Param({"json", "smile"})
+    public String format;
+    private ObjectMapper mapper;
+    private List<BookingResponseDto> bookings;
+
+    @Setup
+    public void setUp() {
+        mapper = "smile".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile()
+                        .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                        .build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime start = LocalDateTime.of(2022, 9, 1, 10, 0);
+        bookings = new ArrayList<>(SIZE);
+        for (int i = 1; i <= SIZE; i++) {
+            bookings.add(new BookingResponseDto(i, 2, "Booker", "booker@mail.ru", i, "Item " + i,
+                    "Description of item " + i, true, null, start.plusDays(i), start.plusDays(i + 1),
+                    BookingStatus.APPROVED));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeBookings() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+}
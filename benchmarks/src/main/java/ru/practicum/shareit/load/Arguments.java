@@ -0,0 +1,28 @@
+package ru.practicum.shareit.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class Arguments {
+    private final Map<String, String> values = new HashMap<>();
+
+    static Arguments parse(String[] args) {
+        Arguments arguments = new Arguments();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            arguments.values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return arguments;
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    long getLong(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+}
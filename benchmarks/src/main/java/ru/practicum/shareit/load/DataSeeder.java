@@ -0,0 +1,109 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+@Slf4j
+public class DataSeeder {
+    static final String DEFAULT_URL = "jdbc:h2:file:./target/shareit-load;AUTO_SERVER=TRUE";
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "APPROVED", "APPROVED",
+            "APPROVED", "APPROVED", "WAITING", "WAITING", "REJECTED"};
+    private final Connection connection;
+    private final LoadScale scale;
+    private final int batchSize;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    public DataSeeder(Connection connection, LoadScale scale, int batchSize) {
+        this.connection = connection;
+        this.scale = scale;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Arguments arguments = Arguments.parse(args);
+        try (Connection connection = DriverManager.getConnection(arguments.get("url", DEFAULT_URL),
+                arguments.get("username", "sa"), arguments.get("password", ""))) {
+            new DataSeeder(connection, LoadScale.from(arguments), (int) arguments.getLong("batch", 1000)).seed();
+        }
+    }
+
+    public void seed() throws SQLException {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+        connection.setAutoCommit(false);
+        insert("users", "insert into users (user_id, user_name, email) values (?, ?, ?)", scale.getUsers(),
+                (statement, id) -> {
+                    statement.setString(2, "User " + id);
+                    statement.setString(3, "user" + id + "@load.test");
+                });
+        insert("requests", "insert into requests (request_id, description, created, requestor_id) "
+                + "values (?, ?, ?, ?)", scale.getRequests(), (statement, id) -> {
+                    statement.setString(2, "Looking for a " + LoadScale.noun(id));
+                    statement.setTimestamp(3, Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600))));
+                    statement.setLong(4, scale.booker(id));
+                });
+        insert("items", "insert into items (item_id, item_name, description, is_available, owner_id, request_id) "
+                + "values (?, ?, ?, ?, ?, ?)", scale.getItems(), (statement, id) -> {
+                    statement.setString(2, scale.name(id));
+                    statement.setString(3, "Used " + scale.name(id) + " in good condition");
+                    statement.setBoolean(4, scale.isAvailable(id));
+                    statement.setLong(5, scale.ownerOf(id));
+                    if (scale.getRequests() > 0 && id % 5 == 0) {
+                        statement.setLong(6, 1 + id % scale.getRequests());
+                    } else {
+                        statement.setObject(6, null);
+                    }
+                });
+        insert("booking", "insert into booking (booking_id, start_date, end_date, item_id, booker_id, status) "
+                + "values (?, ?, ?, ?, ?, ?)", scale.getBookings(), (statement, id) -> {
+                    LocalDateTime start = now.plusHours(random.nextInt(-24 * 365, 24 * 60));
+                    statement.setTimestamp(2, Timestamp.valueOf(start));
+                    statement.setTimestamp(3, Timestamp.valueOf(start.plusHours(1 + random.nextInt(24 * 7))));
+                    statement.setLong(4, 1 + random.nextLong(scale.getItems()));
+                    statement.setLong(5, scale.booker(random.nextLong(scale.getUsers())));
+                    statement.setString(6, STATUSES[random.nextInt(STATUSES.length)]);
+                });
+        insert("comments", "insert into comments (comment_id, text, item_id, author_id, created_date) "
+                + "values (?, ?, ?, ?, ?)", scale.getComments(), (statement, id) -> {
+                    statement.setString(2, "Comment " + id);
+                    statement.setLong(3, 1 + random.nextLong(scale.getItems()));
+                    statement.setLong(4, scale.booker(random.nextLong(scale.getUsers())));
+                    statement.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600))));
+                });
+    }
+
+    private void insert(String table, String sql, long rows, RowBinder binder) throws SQLException {
+        long started = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long id = 1; id <= rows; id++) {
+                statement.setLong(1, id);
+                binder.bind(statement, id);
+                statement.addBatch();
+                if (id % batchSize == 0 || id == rows) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        try (Statement restart = connection.createStatement()) {
+            restart.execute("alter sequence " + table + "_seq restart with " + (rows + 1));
+            connection.commit();
+        }
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Inserted {} rows into {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    private interface RowBinder {
+        void bind(PreparedStatement statement, long id) throws SQLException;
+    }
+}
@@ -0,0 +1,228 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadDriver {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String gateway;
+    private final LoadScale scale;
+    private final Duration timeout;
+    private final int maxInFlight;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final int totalWeight;
+    private volatile long recordFrom;
+
+    enum Operation {
+        SEARCH(40),
+        OWNER_BOOKINGS(20),
+        OWNER_ITEMS(15),
+        BOOKER_BOOKINGS(10),
+        CREATE_BOOKING(15),
+        APPROVE_BOOKING(0);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    public LoadDriver(String gateway, LoadScale scale, Duration timeout, int maxInFlight) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.gateway = gateway;
+        this.scale = scale;
+        this.timeout = timeout;
+        this.maxInFlight = maxInFlight;
+        int weights = 0;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+            weights += operation.weight;
+        }
+        this.totalWeight = weights;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Arguments arguments = Arguments.parse(args);
+        LoadDriver driver = new LoadDriver(arguments.get("gateway", "http://localhost:8080"),
+                LoadScale.from(arguments), Duration.ofSeconds(arguments.getLong("timeout", 10)),
+                (int) arguments.getLong("max-in-flight", 1000));
+        driver.run(arguments.getLong("rps", 100), Duration.ofSeconds(arguments.getLong("warmup", 10)),
+                Duration.ofSeconds(arguments.getLong("duration", 60)));
+        driver.report(System.out);
+    }
+
+    public void run(long rps, Duration warmup, Duration duration) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long started = System.nanoTime();
+        recordFrom = started + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+        for (long request = 0; ; request++) {
+            long intended = started + request * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                if (intended >= recordFrom) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            fire(pick(), intended);
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    public void report(PrintStream out) {
+        out.printf("%-16s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((operation, stat) -> {
+            Histogram histogram = stat.latency;
+            out.printf("%-16s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", operation, histogram.getTotalCount(),
+                    stat.errors.sum(), millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), histogram.getMaxValue() / 1_000_000.0);
+        });
+        out.printf("dropped (over %d in flight): %d%n", maxInFlight, dropped.sum());
+    }
+
+    Map<Operation, Stats> stats() {
+        return stats;
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.SEARCH;
+    }
+
+    private void fire(Operation operation, long intended) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long itemId = 1 + random.nextLong(scale.getItems());
+        switch (operation) {
+            case SEARCH:
+                send(operation, intended, get("/items/search?text=" + LoadScale.noun(random.nextInt()), null));
+                break;
+            case OWNER_BOOKINGS:
+                send(operation, intended, get("/bookings/owner?state=ALL", scale.ownerOf(itemId)));
+                break;
+            case OWNER_ITEMS:
+                send(operation, intended, get("/items", scale.ownerOf(itemId)));
+                break;
+            case BOOKER_BOOKINGS:
+                send(operation, intended, get("/bookings?state=ALL", scale.booker(random.nextLong())));
+                break;
+            default:
+                createBooking(intended, scale.isAvailable(itemId) ? itemId : itemId - 1);
+        }
+    }
+
+    private void createBooking(long intended, long itemId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + ThreadLocalRandom.current().nextInt(300));
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", itemId, start,
+                start.plusDays(1));
+        HttpRequest request = request("/bookings", scale.booker(ThreadLocalRandom.current().nextLong()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        send(Operation.CREATE_BOOKING, intended, request).thenAccept(response -> {
+            if (response != null && response.statusCode() / 100 == 2) {
+                approve(response.body(), scale.ownerOf(itemId));
+            }
+        });
+    }
+
+    private void approve(String booking, long ownerId) {
+        try {
+            JsonNode id = mapper.readTree(booking).get("id");
+            HttpRequest request = request("/bookings/" + id.asLong() + "?approved=true", ownerId)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            send(Operation.APPROVE_BOOKING, System.nanoTime(), request);
+        } catch (Exception e) {
+            stats.get(Operation.APPROVE_BOOKING).errors.increment();
+        }
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(gateway + path)).timeout(timeout);
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(Operation operation, long intended, HttpRequest request) {
+        inFlight.incrementAndGet();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, e) -> {
+                    inFlight.decrementAndGet();
+                    if (intended >= recordFrom) {
+                        Stats stat = stats.get(operation);
+                        stat.latency.recordValue(Math.max(0, System.nanoTime() - intended));
+                        if (e != null || response.statusCode() >= 400) {
+                            stat.errors.increment();
+                        }
+                    }
+                    return e == null ? response : null;
+                });
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    static class Stats {
+        // Auto-resizing: under overload latencies grow without bound and must still be recorded.
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        long requests() {
+            return latency.getTotalCount();
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+@Getter
+public class LoadScale {
+    private static final String[] ADJECTIVES = {"cordless", "heavy", "compact", "electric", "folding", "vintage",
+            "portable", "rusty"};
+    private static final String[] NOUNS = {"drill", "ladder", "saw", "tent", "kayak", "projector", "bicycle",
+            "hammer", "grill", "camera"};
+    private final long users;
+    private final long items;
+    private final long requests;
+    private final long bookings;
+    private final long comments;
+
+    public LoadScale(long users, long items, long requests, long bookings, long comments) {
+        if (users < 2 || items < 1) {
+            throw new IllegalArgumentException("At least 2 users and 1 item are required");
+        }
+        this.users = users;
+        this.items = items;
+        this.requests = requests;
+        this.bookings = bookings;
+        this.comments = comments;
+    }
+
+    static LoadScale from(Arguments arguments) {
+        return new LoadScale(arguments.getLong("users", 10_000), arguments.getLong("items", 50_000),
+                arguments.getLong("requests", 10_000), arguments.getLong("bookings", 1_000_000),
+                arguments.getLong("comments", 100_000));
+    }
+
+    public long owners() {
+        return users / 2;
+    }
+
+    public long ownerOf(long itemId) {
+        return 1 + (itemId - 1) % owners();
+    }
+
+    public long booker(long n) {
+        return owners() + 1 + Math.floorMod(n, users - owners());
+    }
+
+    public boolean isAvailable(long itemId) {
+        return itemId % 10 != 0;
+    }
+
+    public String name(long itemId) {
+        return ADJECTIVES[(int) (itemId % ADJECTIVES.length)] + " " + noun(itemId / ADJECTIVES.length);
+    }
+
+    public static String noun(long n) {
+        return NOUNS[(int) Math.floorMod(n, (long) NOUNS.length)];
+    }
+}
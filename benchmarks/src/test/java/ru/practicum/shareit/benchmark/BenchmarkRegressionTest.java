@@ -0,0 +1,124 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledIfSystemProperty(named = "benchmark.enabled", matches = "true")
+public class BenchmarkRegressionTest {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_NOISE_BYTES = 32;
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test
+    void resultsStayWithinBaseline() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(getClass().getPackageName() + ".*Benchmark")
+                .exclude(ItemInsertBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("benchmark.result", "target/jmh-result.json"))
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        assertFalse(results.isEmpty(), "No benchmarks found");
+
+        Map<String, Score> current = new TreeMap<>();
+        for (RunResult result : results) {
+            current.put(name(result), new Score(result.getPrimaryResult().getScore(), allocation(result)));
+        }
+
+        File baselineFile = new File(System.getProperty("benchmark.baseline", "baseline.json"));
+        if (Boolean.getBoolean("benchmark.update-baseline") || !baselineFile.exists()) {
+            mapper.writeValue(baselineFile, current);
+            return;
+        }
+
+        double throughputTolerance = Double.parseDouble(System.getProperty("benchmark.throughput-tolerance", "0.5"));
+        double allocationTolerance = Double.parseDouble(System.getProperty("benchmark.allocation-tolerance", "0.1"));
+        Map<String, Score> baseline = mapper.readValue(baselineFile, new TypeReference<TreeMap<String, Score>>() {
+        });
+        List<String> regressions = new ArrayList<>();
+        current.forEach((name, score) -> {
+            Score expected = baseline.get(name);
+            if (expected == null) {
+                return;
+            }
+            if (score.getThroughput() < expected.getThroughput() * (1 - throughputTolerance)) {
+                regressions.add(String.format("%s throughput %.0f ops/s is below baseline %.0f ops/s",
+                        name, score.getThroughput(), expected.getThroughput()));
+            }
+            if (score.getAllocatedBytesPerOp() > expected.getAllocatedBytesPerOp() * (1 + allocationTolerance)
+                    + ALLOCATION_NOISE_BYTES) {
+                regressions.add(String.format("%s allocates %.0f B/op, baseline is %.0f B/op",
+                        name, score.getAllocatedBytesPerOp(), expected.getAllocatedBytesPerOp()));
+            }
+        });
+        assertTrue(regressions.isEmpty(), String.join("\n", regressions));
+    }
+
+    private static String name(RunResult result) {
+        String params = result.getParams().getParamsKeys().stream()
+                .map(key -> key + "=" + result.getParams().getParam(key))
+                .collect(Collectors.joining(","));
+        String benchmark = result.getParams().getBenchmark();
+        return params.isEmpty() ? benchmark : benchmark + ":" + params;
+    }
+
+    private static double allocation(RunResult result) {
+        for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+            if (secondary.getKey().endsWith(ALLOCATION)) {
+                return secondary.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+
+    public static class Score {
+        private double throughput;
+        private double allocatedBytesPerOp;
+
+        public Score() {
+        }
+
+        Score(double throughput, double allocatedBytesPerOp) {
+            this.throughput = Math.round(throughput);
+            this.allocatedBytesPerOp = Math.round(allocatedBytesPerOp);
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public void setThroughput(double throughput) {
+            this.throughput = throughput;
+        }
+
+        public double getAllocatedBytesPerOp() {
+            return allocatedBytesPerOp;
+        }
+
+        public void setAllocatedBytesPerOp(double allocatedBytesPerOp) {
+            this.allocatedBytesPerOp = allocatedBytesPerOp;
+        }
+    }
+}
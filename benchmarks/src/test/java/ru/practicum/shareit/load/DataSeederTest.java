@@ -0,0 +1,40 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DataSeederTest {
+    private static final LoadScale SCALE = new LoadScale(20, 50, 10, 500, 40);
+
+    @Test
+    void seedsRequestedRowCountsConsistentWithScale() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:seeder;MODE=PostgreSQL", "sa", "")) {
+            new DataSeeder(connection, SCALE, 64).seed();
+
+            assertEquals(SCALE.getUsers(), count(connection, "select count(*) from users"));
+            assertEquals(SCALE.getRequests(), count(connection, "select count(*) from requests"));
+            assertEquals(SCALE.getItems(), count(connection, "select count(*) from items"));
+            assertEquals(SCALE.getBookings(), count(connection, "select count(*) from booking"));
+            assertEquals(SCALE.getComments(), count(connection, "select count(*) from comments"));
+            assertEquals(SCALE.getItems() + 1, count(connection, "select next value for items_seq"));
+            assertEquals(SCALE.ownerOf(7), count(connection, "select owner_id from items where item_id = 7"));
+            assertEquals(0, count(connection, "select count(*) from booking b join items i on b.item_id = i.item_id "
+                    + "where b.booker_id = i.owner_id"));
+            assertEquals(SCALE.getItems() / 10, count(connection, "select count(*) from items where not is_available"));
+        }
+    }
+
+    private long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway round trip for an owner's booking list, parsing the upstream body or relaying its bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassthroughBenchmark {
+    private static final int BOOKINGS = 1000;
+    @Param({"false", "true"})
+    public boolean passthrough;
+    private HttpServer upstream;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] bookings = bookingList();
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/bookings/owner", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bookings.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bookings);
+            }
+        });
+        upstream.start();
+        context = new SpringApplicationBuilder(ShareItGateway.class)
+                .run("--server.port=0",
+                        "--shareit-server.url=http://localhost:" + upstream.getAddress().getPort(),
+                        "--shareit-server.passthrough=" + passthrough,
+                        "--shareit-server.execution-mode=blocking",
+                        "--shareit-server.wire-format=json",
+                        "--shareit-server.coalesce-gets=false",
+                        "--shareit-server.cache.enabled=false",
+                        "--shareit-gateway.rate-limit.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings/owner"))
+                .header("X-Sharer-User-Id", "1")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        upstream.stop(0);
+    }
+
+    @Benchmark
+    public byte[] ownerBookings() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Gateway answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static byte[] bookingList() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= BOOKINGS; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"booker\":{\"id\":2,\"name\":\"Booker\",\"email\":\"booker@mail.ru\"}")
+                    .append(",\"item\":{\"id\":").append(i)
+                    .append(",\"name\":\"Item ").append(i)
+                    .append("\",\"description\":\"Description of item ").append(i)
+                    .append("\",\"available\":true,\"requestId\":null,\"comments\":[]}")
+                    .append(",\"status\":\"APPROVED\",\"start\":\"2022-09-01T10:00:00\",\"end\":\"2022-09-02T10:00:00\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the gateway rate limiter: an in-flight permit plus a token from a random user's bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class RateLimiterBenchmark {
+    private static final int USERS = 10_000;
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setReadsPerSecond(1_000_000);
+        properties.setReadBurst(1_000_000);
+        rateLimiter = new RateLimiter(properties);
+    }
+
+    @Benchmark
+    public long enterAcquireAndExit() {
+        if (!rateLimiter.tryEnter()) {
+            return -1;
+        }
+        try {
+            return rateLimiter.tryAcquire(ThreadLocalRandom.current().nextInt(USERS), false);
+        } finally {
+            rateLimiter.exit();
+        }
+    }
+}
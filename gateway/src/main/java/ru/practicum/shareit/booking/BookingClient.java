@@ -4,43 +4,48 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.client.BaseClient;
 
 import javax.validation.ValidationException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> add(Long userId, BookingRequestDto bookingRequestDto) throws ValidationException {
+    public CompletableFuture<ResponseEntity<Object>> add(Long userId, BookingRequestDto bookingRequestDto) throws ValidationException {
         return post("", userId, bookingRequestDto);
     }
 
-    public ResponseEntity<Object> bookingConfirmation(Long userId, Long bookingId, boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> bookingConfirmation(Long userId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAll(Long userId, String state, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getAll(Long userId, String state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -49,7 +54,7 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingByOwner(Long userId, String state, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingByOwner(Long userId, String state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -58,4 +63,21 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<StreamingResponseBody> export(Long userId, String state, String format,
+                                                       LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("format", format);
+        StringBuilder path = new StringBuilder("/export?state={state}&format={format}");
+        if (from != null) {
+            parameters.put("from", from);
+            path.append("&from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            path.append("&to={to}");
+        }
+        return stream(path.toString(), userId, parameters);
+    }
+
 }
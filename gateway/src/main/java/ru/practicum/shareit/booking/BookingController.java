@@ -1,16 +1,21 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
 import javax.validation.Valid;
 import javax.validation.ValidationException;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @Validated
@@ -26,39 +31,54 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestHeader(USER_HEADER) long userId,
-                                      @Valid @RequestBody BookingRequestDto bookingRequestDto) throws ValidationException {
+    public CompletableFuture<ResponseEntity<Object>> add(@RequestHeader(USER_HEADER) long userId,
+                                                         @Valid @RequestBody BookingRequestDto bookingRequestDto) throws ValidationException {
         return bookingClient.add(userId, bookingRequestDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> bookingConfirmation(@RequestHeader(USER_HEADER) long userId,
-                                                      @PathVariable Long bookingId,
-                                                      @RequestParam(value = "approved") boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> bookingConfirmation(@RequestHeader(USER_HEADER) long userId,
+                                                                         @PathVariable Long bookingId,
+                                                                         @RequestParam(value = "approved") boolean approved) {
         return bookingClient.bookingConfirmation(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getById(@RequestHeader(USER_HEADER) long userId,
-                                          @PathVariable Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getById(@RequestHeader(USER_HEADER) long userId,
+                                                             @PathVariable Long bookingId) {
         return bookingClient.getById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll(@RequestHeader(USER_HEADER) long userId,
-                                          @RequestParam(value = "state", required = false,
-                                                  defaultValue = "ALL") String state,
-                                          @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                          @RequestParam(defaultValue = "20") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> findAll(@RequestHeader(USER_HEADER) long userId,
+                                                             @RequestParam(value = "state", required = false,
+                                                                     defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                             @RequestParam(defaultValue = "20") @Positive int size) {
         return bookingClient.getAll(userId, state, from, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingByOwner(@RequestHeader(USER_HEADER) long userId,
-                                                       @RequestParam(value = "state", required = false,
-                                                               defaultValue = "ALL") String state,
-                                                       @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                       @RequestParam(defaultValue = "20") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingByOwner(@RequestHeader(USER_HEADER) long userId,
+                                                                          @RequestParam(value = "state", required = false,
+                                                                                  defaultValue = "ALL") String state,
+                                                                          @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                                          @RequestParam(defaultValue = "20") @Positive int size) {
         return bookingClient.getAllBookingByOwner(userId, state, from, size);
     }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(USER_HEADER) long userId,
+                                                        @RequestParam(value = "state", required = false,
+                                                                defaultValue = "ALL") String state,
+                                                        @RequestParam(defaultValue = "ndjson")
+                                                        @Pattern(regexp = "(?i)ndjson|csv") String format,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        return bookingClient.export(userId, state, format, from, to);
+    }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Sends upstream exchanges through the non-blocking shareit-server client. No thread waits while an exchange is in
+ * flight, so concurrent calls are bounded by the connection pool limits rather than by a thread pool. Responses are
+ * buffered on the I/O reactor and relayed with the upstream status, headers and bytes, as in passthrough mode.
+ */
+public class AsyncTransport {
+    private final CloseableHttpAsyncClient client;
+
+    public AsyncTransport(CloseableHttpAsyncClient client) {
+        this.client = client;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, RequestCallback callback) {
+        BufferedRequest request = new BufferedRequest(method, uri);
+        try {
+            callback.doWithRequest(request);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(failure(method, uri, e));
+        }
+        RequestBuilder builder = RequestBuilder.create(method.name()).setUri(uri);
+        request.getHeaders().forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !BaseClient.HOP_BY_HOP_HEADERS.contains(name)) {
+                values.forEach(value -> builder.addHeader(name, value));
+            }
+        });
+        if (request.body.size() > 0) {
+            builder.setEntity(new ByteArrayEntity(request.body.toByteArray()));
+        }
+
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        Future<HttpResponse> call = client.execute(builder.build(), new FutureCallback<>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    result.complete(toEntity(response));
+                } catch (IOException e) {
+                    failed(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(failure(method, uri, e));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static ResponseEntity<Object> toEntity(HttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        for (Header header : response.getAllHeaders()) {
+            if (!BaseClient.HOP_BY_HOP_HEADERS.contains(header.getName())) {
+                headers.add(header.getName(), header.getValue());
+            }
+        }
+        HttpEntity entity = response.getEntity();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusLine().getStatusCode())
+                .headers(headers);
+        return entity == null ? builder.build() : builder.body(EntityUtils.toByteArray(entity));
+    }
+
+    private static ResourceAccessException failure(HttpMethod method, URI uri, Exception e) {
+        return new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                + e.getMessage(), e instanceof IOException ? (IOException) e : new IOException(e));
+    }
+
+    /**
+     * Collects what {@link org.springframework.web.client.RestTemplate} would write for the request, so bodies are
+     * serialized by the same message converters as in the blocking mode.
+     */
+    private static final class BufferedRequest implements ClientHttpRequest {
+        private final HttpMethod method;
+        private final URI uri;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        BufferedRequest(HttpMethod method, URI uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        @Override
+        public ClientHttpResponse execute() {
+            throw new UnsupportedOperationException("Buffered requests are sent by the async client");
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+    }
+}
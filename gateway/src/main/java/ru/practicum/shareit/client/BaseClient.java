@@ -1,20 +1,139 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.slo.Routes;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class BaseClient {
+    private static final List<MediaType> STREAM_ACCEPT = List.of(MediaType.valueOf("application/x-ndjson"),
+            MediaType.valueOf("text/csv"), MediaType.APPLICATION_JSON);
+    static final Set<String> HOP_BY_HOP_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HOP_BY_HOP_HEADERS.addAll(List.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE, HttpHeaders.DATE));
+    }
+
     protected final RestTemplate rest;
+    private boolean passthrough;
+    private boolean smile;
+    private AsyncTransport asyncTransport;
+    private SingleFlight singleFlight;
+    private ResponseCache responseCache;
+    private RouteGuards routeGuards;
+    private Hedging hedging;
+    private Retries retries;
+    private LoadBalancer loadBalancer;
+    private UpstreamTimers upstreamTimers;
+    private ClientHttpRequestFactory uploadRequestFactory;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
+    @Value("${shareit-server.passthrough:false}")
+    public void setPassthrough(boolean passthrough) {
+        this.passthrough = passthrough;
+    }
+
+    @Value("${shareit-server.wire-format:json}")
+    public void setWireFormat(String wireFormat) {
+        this.smile = "smile".equalsIgnoreCase(wireFormat);
+    }
+
+    @Autowired(required = false)
+    public void setAsyncTransport(AsyncTransport asyncTransport) {
+        this.asyncTransport = asyncTransport;
+    }
+
+    @Autowired(required = false)
+    public void setSingleFlight(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Autowired(required = false)
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Autowired(required = false)
+    public void setRouteGuards(RouteGuards routeGuards) {
+        this.routeGuards = routeGuards;
+    }
+
+    @Autowired(required = false)
+    public void setHedging(Hedging hedging) {
+        this.hedging = hedging;
+    }
+
+    @Autowired(required = false)
+    public void setRetries(Retries retries) {
+        this.retries = retries;
+    }
+
+    @Autowired(required = false)
+    public void setLoadBalancer(LoadBalancer loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Autowired(required = false)
+    public void setUpstreamTimers(UpstreamTimers upstreamTimers) {
+        this.upstreamTimers = upstreamTimers;
+    }
+
+    @Autowired(required = false)
+    public void setUploadRequestFactory(
+            @Qualifier("shareItServerUploadRequestFactory") ClientHttpRequestFactory uploadRequestFactory) {
+        this.uploadRequestFactory = uploadRequestFactory;
+    }
+
+    static ResponseEntity<Object> buffered(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof InputStreamResource)) {
+            return response;
+        }
+        try (InputStream body = ((InputStreamResource) response.getBody()).getInputStream()) {
+            return ResponseEntity.status(response.getStatusCodeValue())
+                    .headers(response.getHeaders())
+                    .body(StreamUtils.copyToByteArray(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void discard(ResponseEntity<Object> response) {
+        if (response.getBody() instanceof InputStreamResource) {
+            try {
+                ((InputStreamResource) response.getBody()).getInputStream().close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
@@ -29,86 +148,248 @@ public class BaseClient {
         return responseBuilder.build();
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    protected ResponseEntity<StreamingResponseBody> stream(String path, long userId, Map<String, ?> parameters) {
+        URI uri = expand(path, parameters);
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(STREAM_ACCEPT);
+        ClientHttpResponse response = execute(HttpMethod.GET, loadBalancer != null ? loadBalancer.resolve(uri) : uri,
+                null, headers);
+        return relay(response, path);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    protected ResponseEntity<StreamingResponseBody> upload(String path, long userId, MediaType contentType,
+                                                           InputStream body) {
+        URI uri = expand(path, null);
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        ClientHttpRequestFactory requestFactory = uploadRequestFactory != null
+                ? uploadRequestFactory : rest.getRequestFactory();
+        ClientHttpResponse response;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            ClientHttpRequest request = requestFactory.createRequest(
+                    loadBalancer != null ? loadBalancer.resolve(uri) : uri, HttpMethod.POST);
+            request.getHeaders().putAll(headers);
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(out -> StreamUtils.copy(body, out));
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                StreamUtils.copy(body, request.getBody());
+            }
+            response = request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on POST request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+        return relay(response, path);
+    }
+
+    private ResponseEntity<StreamingResponseBody> relay(ClientHttpResponse response, String path) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(response.getHeaders().getContentType());
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(headers)
+                    .body(out -> {
+                        try (response) {
+                            StreamUtils.copy(response.getBody(), out);
+                        }
+                    });
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("I/O error reading response for \"" + path + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method != HttpMethod.GET) {
+            CompletableFuture<ResponseEntity<Object>> response = send(method, path, parameters, body, defaultHeaders(userId));
+            if (responseCache != null) {
+                String resource = expand(path, parameters).getPath();
+                response.whenComplete((result, e) -> responseCache.invalidate(resource));
             }
+            return response;
+        }
+        String key = expand(path, parameters) + "|" + userId;
+        if (singleFlight != null) {
+            return singleFlight.execute(key, () -> sendGet(key, path, userId, parameters));
+        }
+        return sendGet(key, path, userId, parameters);
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> sendGet(String key, String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (responseCache != null) {
+            return responseCache.execute(key, expand(path, parameters).getPath(), defaultHeaders(userId),
+                    headers -> send(HttpMethod.GET, path, parameters, null, headers));
+        }
+        return send(HttpMethod.GET, path, parameters, null, defaultHeaders(userId));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, String path, @Nullable Map<String, Object> parameters, @Nullable T body, HttpHeaders headers) {
+        String route = Routes.of(expand(path, parameters).getPath());
+        Supplier<CompletableFuture<ResponseEntity<Object>>> call = () -> dispatch(method, path, parameters, body, headers);
+        if (retries != null) {
+            Supplier<CompletableFuture<ResponseEntity<Object>>> once = call;
+            call = () -> retries.execute(route, once);
+        }
+        if (hedging != null && method == HttpMethod.GET && hedging.appliesTo(route)) {
+            Supplier<CompletableFuture<ResponseEntity<Object>>> attempt = call;
+            call = () -> hedging.execute(route, attempt);
+        }
+        if (routeGuards != null) {
+            Supplier<CompletableFuture<ResponseEntity<Object>>> guarded = call;
+            call = () -> routeGuards.execute(route, guarded);
+        }
+        return upstreamTimers != null ? upstreamTimers.execute(route, method, call) : call.get();
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> dispatch(HttpMethod method, String path, @Nullable Map<String, Object> parameters, @Nullable T body, HttpHeaders headers) {
+        URI uri = expand(path, parameters);
+        if (loadBalancer != null) {
+            return loadBalancer.execute(uri, target -> dispatch(method, target, body, headers));
+        }
+        return dispatch(method, uri, body, headers);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> dispatch(HttpMethod method, URI uri, @Nullable T body, HttpHeaders headers) {
+        if (asyncTransport != null) {
+            return asyncTransport.exchange(method, uri, rest.httpEntityCallback(new HttpEntity<>(body, headers)))
+                    .thenApply(WireFormat::toJson);
+        }
+        try {
+            return CompletableFuture.completedFuture(WireFormat.toJson(sendAndWait(method, uri, body, headers)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> ResponseEntity<Object> sendAndWait(HttpMethod method, URI uri, @Nullable T body, HttpHeaders headers) {
+        if (passthrough) {
+            return passthrough(method, uri, body, headers);
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, Object.class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            HttpHeaders errorHeaders = new HttpHeaders();
+            if (e.getResponseHeaders() != null) {
+                errorHeaders.setContentType(e.getResponseHeaders().getContentType());
+            }
+            return ResponseEntity.status(e.getStatusCode()).headers(errorHeaders).body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> passthrough(HttpMethod method, URI uri, @Nullable T body,
+                                                   HttpHeaders requestHeaders) {
+        ClientHttpResponse response = execute(method, uri, body, requestHeaders);
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            response.getHeaders().forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name)) {
+                    headers.addAll(name, values);
+                }
+            });
+            InputStream responseBody = new FilterInputStream(response.getBody()) {
+                @Override
+                public void close() {
+                    response.close();
+                }
+            };
+            ResponseEntity<Object> gatewayResponse = ResponseEntity.status(response.getRawStatusCode())
+                    .headers(headers)
+                    .body(new InputStreamResource(responseBody));
+            return headers.getETag() != null ? buffered(gatewayResponse) : gatewayResponse;
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("I/O error reading response for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private <T> ClientHttpResponse execute(HttpMethod method, URI uri, @Nullable T body, HttpHeaders headers) {
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(new HttpEntity<>(body, headers)).doWithRequest(request);
+            return request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private URI expand(String path, @Nullable Map<String, ?> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(smile ? WireFormat.ACCEPT_SMILE : List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+    private final ResilienceProperties properties;
+    private final LongSupplier clock;
+    private final Outcome[] window;
+    private State state = State.CLOSED;
+    private int position;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(ResilienceProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CircuitBreaker(ResilienceProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.window = new Outcome[properties.getSlidingWindowSize()];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < properties.getOpenDuration().toNanos()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = properties.getHalfOpenCalls();
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(boolean failed, long durationNanos) {
+        boolean slow = durationNanos > properties.getSlowCallDuration().toNanos();
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open();
+            } else if (++halfOpenSuccesses == properties.getHalfOpenCalls()) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        record(failed ? Outcome.FAILED : slow ? Outcome.SLOW : Outcome.SUCCESS);
+        if (calls >= properties.getMinimumCalls()
+                && (failures * 100 >= properties.getFailureRateThreshold() * calls
+                || slowCalls * 100 >= properties.getSlowCallRateThreshold() * calls)) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int failureRate() {
+        return calls == 0 ? 0 : failures * 100 / calls;
+    }
+
+    public synchronized int slowCallRate() {
+        return calls == 0 ? 0 : slowCalls * 100 / calls;
+    }
+
+    private void record(Outcome outcome) {
+        Outcome evicted = window[position];
+        if (evicted != null) {
+            count(evicted, -1);
+        } else {
+            calls++;
+        }
+        window[position] = outcome;
+        count(outcome, 1);
+        position = (position + 1) % window.length;
+    }
+
+    private void count(Outcome outcome, int delta) {
+        if (outcome == Outcome.FAILED) {
+            failures += delta;
+        } else if (outcome == Outcome.SLOW) {
+            slowCalls += delta;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        Arrays.fill(window, null);
+        position = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILED,
+        SLOW
+    }
+}
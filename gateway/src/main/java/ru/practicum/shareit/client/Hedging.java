@@ -0,0 +1,149 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class Hedging {
+    private final HedgingProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public Hedging(HedgingProperties properties, ScheduledExecutorService scheduler, MeterRegistry registry) {
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.registry = registry;
+    }
+
+    public boolean appliesTo(String route) {
+        return properties.getRoutes().contains(route);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String route,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> attempt) {
+        RouteMeters meters = routes.computeIfAbsent(route, this::meters);
+        long delayNanos = Math.max(properties.getMinDelay().toNanos(), meters.window.percentile());
+        long started = System.nanoTime();
+        Race race = new Race();
+
+        meters.primaries.increment();
+        start(attempt).whenComplete((response, e) -> {
+            long elapsed = System.nanoTime() - started;
+            meters.unhedged.record(elapsed, TimeUnit.NANOSECONDS);
+            if (e == null) {
+                meters.window.record(elapsed);
+            }
+            race.onResult(response, e);
+        });
+        if (!race.result.isDone()) {
+            ScheduledFuture<?> hedge = scheduler.schedule(() -> {
+                if (race.startHedge()) {
+                    meters.hedges.increment();
+                    start(attempt).whenComplete((response, e) -> {
+                        if (race.onResult(response, e)) {
+                            meters.hedgeWins.increment();
+                        }
+                    });
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+            race.result.whenComplete((response, e) -> hedge.cancel(false));
+        }
+        return race.result.whenComplete((response, e) ->
+                meters.hedged.record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> start(
+            Supplier<CompletableFuture<ResponseEntity<Object>>> attempt) {
+        try {
+            return attempt.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private RouteMeters meters(String route) {
+        return new RouteMeters(
+                new LatencyWindow(properties.getWindow(), properties.getPercentile()),
+                Counter.builder("shareit.gateway.hedge.requests")
+                        .description("Upstream GET attempts sent by the hedging executor")
+                        .tags("route", route, "attempt", "primary")
+                        .register(registry),
+                Counter.builder("shareit.gateway.hedge.requests")
+                        .description("Upstream GET attempts sent by the hedging executor")
+                        .tags("route", route, "attempt", "hedge")
+                        .register(registry),
+                Counter.builder("shareit.gateway.hedge.wins")
+                        .description("Hedged GETs answered by the hedge before the primary attempt")
+                        .tag("route", route)
+                        .register(registry),
+                latency(route, "unhedged", "Latency of the primary attempt alone"),
+                latency(route, "hedged", "Latency seen by the caller with hedging"));
+    }
+
+    private Timer latency(String route, String type, String description) {
+        return Timer.builder("shareit.gateway.hedge.latency")
+                .description(description)
+                .tags("route", route, "latency", type)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private static class RouteMeters {
+        private final LatencyWindow window;
+        private final Counter primaries;
+        private final Counter hedges;
+        private final Counter hedgeWins;
+        private final Timer unhedged;
+        private final Timer hedged;
+
+        RouteMeters(LatencyWindow window, Counter primaries, Counter hedges, Counter hedgeWins,
+                    Timer unhedged, Timer hedged) {
+            this.window = window;
+            this.primaries = primaries;
+            this.hedges = hedges;
+            this.hedgeWins = hedgeWins;
+            this.unhedged = unhedged;
+            this.hedged = hedged;
+        }
+    }
+
+    private static class Race {
+        private final CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        private int pending = 1;
+
+        synchronized boolean startHedge() {
+            if (result.isDone()) {
+                return false;
+            }
+            pending++;
+            return true;
+        }
+
+        synchronized boolean onResult(ResponseEntity<Object> response, Throwable e) {
+            pending--;
+            if (result.isDone()) {
+                if (e == null) {
+                    BaseClient.discard(response);
+                }
+                return false;
+            }
+            if (e == null) {
+                return result.complete(response);
+            }
+            if (pending == 0) {
+                result.completeExceptionally(e);
+            }
+            return false;
+        }
+    }
+}
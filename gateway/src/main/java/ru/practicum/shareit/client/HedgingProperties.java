@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.practicum.shareit.slo.Routes;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.hedging")
+public class HedgingProperties {
+    private boolean enabled;
+    private double percentile = 0.95;
+    private Duration minDelay = Duration.ofMillis(10);
+    private int window = 512;
+    private Set<String> routes = new HashSet<>(Routes.ALL);
+}
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practicum.shareit.slo.SloEndpoint;
+import ru.practicum.shareit.slo.SloProperties;
+import ru.practicum.shareit.slo.SloTracker;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties({HttpClientProperties.class, ResilienceProperties.class, HedgingProperties.class,
+        RetryProperties.class, LoadBalancerProperties.class})
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+    private static final String ASYNC_POOL_NAME = "shareit-server-async";
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(HttpClientProperties properties,
+                                                                             MeterRegistry registry) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(registry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                       HttpClientProperties properties,
+                                                       MeterRegistry registry) {
+        return HttpClients.custom()
+                .setConnectionManager(new TimedConnectionManager(connectionManager, registry, POOL_NAME))
+                .setDefaultRequestConfig(requestConfig(properties))
+                .setKeepAliveStrategy(keepAliveStrategy(properties))
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.execution-mode", havingValue = "async")
+    public PoolingNHttpClientConnectionManager shareItServerAsyncConnectionManager(HttpClientProperties properties,
+                                                                                   ScheduledExecutorService scheduler,
+                                                                                   MeterRegistry registry)
+            throws IOReactorException {
+        PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(
+                new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setSoTimeout((int) properties.getReadTimeout().toMillis())
+                        .build()));
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, ASYNC_POOL_NAME).bindTo(registry);
+        long maxIdleTime = properties.getMaxIdleTime().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(maxIdleTime, TimeUnit.MILLISECONDS);
+        }, maxIdleTime, maxIdleTime, TimeUnit.MILLISECONDS);
+        return connectionManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.execution-mode", havingValue = "async")
+    public CloseableHttpAsyncClient shareItServerAsyncHttpClient(PoolingNHttpClientConnectionManager connectionManager,
+                                                                 HttpClientProperties properties) {
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .setKeepAliveStrategy(keepAliveStrategy(properties))
+                .build();
+        client.start();
+        return client;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.execution-mode", havingValue = "async")
+    public AsyncTransport shareItServerAsyncTransport(CloseableHttpAsyncClient client) {
+        return new AsyncTransport(client);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.coalesce-gets", havingValue = "true")
+    public SingleFlight shareItServerSingleFlight(MeterRegistry registry) {
+        return new SingleFlight(registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true")
+    public ResponseCache shareItServerResponseCache(@Value("${shareit-server.cache.max-entries:1000}") int maxEntries,
+                                                    @Value("${shareit-server.cache.max-age:5s}") Duration maxAge,
+                                                    MeterRegistry registry) {
+        return new ResponseCache(maxEntries, maxAge, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.resilience.enabled", havingValue = "true")
+    public RouteGuards shareItServerRouteGuards(ResilienceProperties properties, MeterRegistry registry) {
+        return new RouteGuards(properties, registry);
+    }
+
+    @Bean
+    @ConditionalOnBean(RouteGuards.class)
+    public RouteGuardsEndpoint shareItServerRouteGuardsEndpoint(RouteGuards routeGuards) {
+        return new RouteGuardsEndpoint(routeGuards);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "shareit-server.slo")
+    public SloProperties shareItServerSloProperties() {
+        return new SloProperties();
+    }
+
+    @Bean
+    public SloTracker shareItServerSloTracker(SloProperties properties) {
+        return new SloTracker(properties);
+    }
+
+    @Bean
+    public SloEndpoint shareItServerSloEndpoint(SloTracker tracker) {
+        return new SloEndpoint(tracker);
+    }
+
+    @Bean
+    public UpstreamTimers shareItServerUpstreamTimers(SloProperties properties, SloTracker tracker,
+                                                      MeterRegistry registry) {
+        return new UpstreamTimers(properties, tracker, registry);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService shareItServerScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shareit-server-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.hedging.enabled", havingValue = "true")
+    public Hedging shareItServerHedging(HedgingProperties properties, ScheduledExecutorService scheduler,
+                                        MeterRegistry registry) {
+        return new Hedging(properties, scheduler, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.retry.enabled", havingValue = "true")
+    public Retries shareItServerRetries(RetryProperties properties, MeterRegistry registry) {
+        return new Retries(properties, registry);
+    }
+
+    @Bean
+    public LoadBalancer shareItServerLoadBalancer(@Value("${shareit-server.urls:${shareit-server.url}}") List<URI> urls,
+                                                  LoadBalancerProperties properties,
+                                                  HttpClientProperties httpClientProperties,
+                                                  ScheduledExecutorService scheduler,
+                                                  MeterRegistry registry) {
+        HttpClient healthClient = HttpClient.newBuilder()
+                .connectTimeout(httpClientProperties.getConnectTimeout())
+                .build();
+        LoadBalancer loadBalancer = new LoadBalancer(urls, properties, healthClient, registry);
+        if (loadBalancer.size() > 1) {
+            long interval = properties.getHealthCheckInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(loadBalancer::checkHealth, 0, interval, TimeUnit.MILLISECONDS);
+        }
+        return loadBalancer;
+    }
+
+    @Bean
+    @Primary
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerUploadRequestFactory(CloseableHttpClient httpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
+    }
+
+    private static RequestConfig requestConfig(HttpClientProperties properties) {
+        return RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getLeaseTimeout().toMillis())
+                .build();
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(HttpClientProperties properties) {
+        long keepAlive = properties.getKeepAlive().toMillis();
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+        };
+    }
+}
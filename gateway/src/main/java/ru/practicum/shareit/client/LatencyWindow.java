@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+
+class LatencyWindow {
+    private static final int RECOMPUTE_EVERY = 32;
+    private final long[] samples;
+    private final double percentile;
+    private int position;
+    private int size;
+    private int sinceRecompute;
+    private long cached;
+
+    LatencyWindow(int capacity, double percentile) {
+        this.samples = new long[capacity];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[position] = nanos;
+        position = (position + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+        if (++sinceRecompute >= RECOMPUTE_EVERY || size < RECOMPUTE_EVERY) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            cached = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+            sinceRecompute = 0;
+        }
+    }
+
+    synchronized long percentile() {
+        return cached;
+    }
+}
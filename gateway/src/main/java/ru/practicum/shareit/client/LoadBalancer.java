@@ -0,0 +1,152 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Spreads upstream calls over the configured server instances with power-of-two-choices on outstanding
+ * requests. Instances failing the actuator health check or returning consecutive errors are left out
+ * until they recover; when no instance is available all of them are tried.
+ */
+public class LoadBalancer {
+    private final List<Endpoint> endpoints;
+    private final LoadBalancerProperties properties;
+    private final HttpClient httpClient;
+    private final Counter ejections;
+
+    public LoadBalancer(List<URI> urls, LoadBalancerProperties properties, HttpClient httpClient,
+                        MeterRegistry registry) {
+        this.endpoints = urls.stream().map(Endpoint::new).collect(Collectors.toList());
+        this.properties = properties;
+        this.httpClient = httpClient;
+        this.ejections = Counter.builder("shareit.gateway.balancer.ejections")
+                .description("Server instances ejected after consecutive failed calls")
+                .register(registry);
+        for (Endpoint endpoint : endpoints) {
+            Gauge.builder("shareit.gateway.balancer.outstanding", endpoint.outstanding, AtomicInteger::get)
+                    .description("Calls in flight to the server instance")
+                    .tag("endpoint", endpoint.url.toString())
+                    .register(registry);
+            Gauge.builder("shareit.gateway.balancer.available", endpoint, e -> e.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("Whether the server instance receives traffic")
+                    .tag("endpoint", endpoint.url.toString())
+                    .register(registry);
+        }
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(URI uri,
+                                                             Function<URI, CompletableFuture<ResponseEntity<Object>>> call) {
+        Endpoint endpoint = choose();
+        endpoint.outstanding.incrementAndGet();
+        CompletableFuture<ResponseEntity<Object>> result;
+        try {
+            result = call.apply(endpoint.resolve(uri));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((response, e) -> {
+            endpoint.outstanding.decrementAndGet();
+            if (e != null || response.getStatusCode().is5xxServerError()) {
+                onFailure(endpoint);
+            } else {
+                endpoint.consecutiveFailures.set(0);
+            }
+        });
+    }
+
+    public URI resolve(URI uri) {
+        return choose().resolve(uri);
+    }
+
+    public void checkHealth() {
+        for (Endpoint endpoint : endpoints) {
+            HttpRequest request = HttpRequest.newBuilder(endpoint.url.resolve(properties.getHealthPath()))
+                    .timeout(properties.getHealthCheckTimeout())
+                    .GET()
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> endpoint.healthy = e == null && response.statusCode() == 200);
+        }
+    }
+
+    Endpoint choose() {
+        long now = System.nanoTime();
+        List<Endpoint> available = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                available.add(endpoint);
+            }
+        }
+        if (available.isEmpty()) {
+            available = endpoints;
+        }
+        if (available.size() == 1) {
+            return available.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available.size());
+        int second = random.nextInt(available.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = available.get(first);
+        Endpoint b = available.get(second);
+        return a.outstanding.get() <= b.outstanding.get() ? a : b;
+    }
+
+    private void onFailure(Endpoint endpoint) {
+        if (endpoint.consecutiveFailures.incrementAndGet() >= properties.getEjectAfterFailures()) {
+            endpoint.consecutiveFailures.set(0);
+            endpoint.ejectedUntil = System.nanoTime() + properties.getEjectDuration().toNanos();
+            ejections.increment();
+        }
+    }
+
+    static class Endpoint {
+        private final URI url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean healthy = true;
+        private volatile long ejectedUntil = System.nanoTime();
+
+        Endpoint(URI url) {
+            this.url = url;
+        }
+
+        URI getUrl() {
+            return url;
+        }
+
+        boolean isAvailable(long now) {
+            return healthy && now - ejectedUntil >= 0;
+        }
+
+        URI resolve(URI uri) {
+            return UriComponentsBuilder.fromUri(uri)
+                    .scheme(url.getScheme())
+                    .host(url.getHost())
+                    .port(url.getPort())
+                    .build(true)
+                    .toUri();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class LoadBalancerProperties {
+    private String healthPath = "/actuator/health";
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    private int ejectAfterFailures = 3;
+    private Duration ejectDuration = Duration.ofSeconds(30);
+}
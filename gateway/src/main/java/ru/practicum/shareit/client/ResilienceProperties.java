@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    private boolean enabled;
+    private int defaultMaxConcurrentCalls = 50;
+    private Map<String, Integer> maxConcurrentCalls = new HashMap<>();
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+    private int failureRateThreshold = 50;
+    private int slowCallRateThreshold = 80;
+    private Duration slowCallDuration = Duration.ofSeconds(2);
+    private Duration openDuration = Duration.ofSeconds(10);
+    private int halfOpenCalls = 3;
+
+    public int maxConcurrentCalls(String route) {
+        return maxConcurrentCalls.getOrDefault(route, defaultMaxConcurrentCalls);
+    }
+}
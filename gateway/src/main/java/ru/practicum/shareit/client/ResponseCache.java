@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Keeps GET responses that carry an ETag. An entry younger than max-age is served without calling shareit-server, so
+ * a client's matching If-None-Match is answered with 304 by the gateway alone. A stale entry is revalidated upstream
+ * with If-None-Match. Writes through the gateway drop the entries for the same path; changes made elsewhere, or to
+ * related resources, show up once the entry goes stale.
+ */
+public class ResponseCache {
+    private final Map<String, CachedResponse> entries;
+    private final long maxAgeNanos;
+    private final Counter hits;
+    private final Counter revalidated;
+    private final Counter misses;
+
+    public ResponseCache(int maxEntries, Duration maxAge, MeterRegistry registry) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.maxAgeNanos = maxAge.toNanos();
+        this.hits = Counter.builder("shareit.gateway.cache.requests")
+                .description("Cacheable GETs served from a fresh entry without calling the server")
+                .tag("result", "hit")
+                .register(registry);
+        this.revalidated = Counter.builder("shareit.gateway.cache.requests")
+                .description("Stale entries revalidated by the server with 304 Not Modified")
+                .tag("result", "revalidated")
+                .register(registry);
+        this.misses = Counter.builder("shareit.gateway.cache.requests")
+                .description("Cacheable GETs answered with a full body by the server")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("shareit.gateway.cache.size", this, ResponseCache::entryCount)
+                .description("Responses held by the gateway cache")
+                .register(registry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(
+            String key, String path, HttpHeaders headers,
+            Function<HttpHeaders, CompletableFuture<ResponseEntity<Object>>> call) {
+        CachedResponse cached = get(key);
+        if (cached != null && System.nanoTime() - cached.storedAt < maxAgeNanos) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached.response);
+        }
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.response.getHeaders().getETag());
+        }
+        return call.apply(headers).thenApply(response -> {
+            if (cached != null && response.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value()) {
+                revalidated.increment();
+                put(key, new CachedResponse(path, cached.response));
+                return cached.response;
+            }
+            if (response.getStatusCode().is2xxSuccessful() && response.getHeaders().getETag() != null) {
+                misses.increment();
+                ResponseEntity<Object> buffered = BaseClient.buffered(response);
+                put(key, new CachedResponse(path, buffered));
+                return buffered;
+            }
+            if (cached != null) {
+                remove(key);
+            }
+            return response;
+        });
+    }
+
+    public synchronized void invalidate(String path) {
+        entries.values().removeIf(entry -> entry.path.equals(path));
+    }
+
+    private synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, CachedResponse entry) {
+        entries.put(key, entry);
+    }
+
+    private synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private static final class CachedResponse {
+        private final String path;
+        private final ResponseEntity<Object> response;
+        private final long storedAt = System.nanoTime();
+
+        CachedResponse(String path, ResponseEntity<Object> response) {
+            this.path = path;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.http.ResponseEntity;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class Retries {
+    private final RetryProperties properties;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Counter> retries = new ConcurrentHashMap<>();
+
+    public Retries(RetryProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String route,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        return attempt(route, call, 1);
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> attempt(String route,
+                                                              Supplier<CompletableFuture<ResponseEntity<Object>>> call,
+                                                              int attempt) {
+        CompletableFuture<ResponseEntity<Object>> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.handle((response, e) -> {
+            if (e == null) {
+                return CompletableFuture.completedFuture(response);
+            }
+            if (attempt >= properties.getMaxAttempts() || !isConnectFailure(e)) {
+                return CompletableFuture.<ResponseEntity<Object>>failedFuture(unwrap(e));
+            }
+            retries.computeIfAbsent(route, this::counter).increment();
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(backoffNanos(attempt), TimeUnit.NANOSECONDS))
+                    .thenCompose(ignored -> attempt(route, call, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    private long backoffNanos(int attempt) {
+        long ceiling = Math.min(properties.getMaxBackoff().toNanos(),
+                properties.getInitialBackoff().toNanos() << (attempt - 1));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private Counter counter(String route) {
+        return Counter.builder("shareit.gateway.retries")
+                .description("Upstream calls repeated after a connection failure")
+                .tag("route", route)
+                .register(registry);
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException
+                    || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
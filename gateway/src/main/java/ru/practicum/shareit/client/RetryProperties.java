@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.retry")
+public class RetryProperties {
+    private boolean enabled;
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(25);
+    private Duration maxBackoff = Duration.ofMillis(250);
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.RouteUnavailableException;
+import ru.practicum.shareit.slo.Routes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+public class RouteGuards {
+    private final Map<String, Guard> guards = new LinkedHashMap<>();
+
+    public RouteGuards(ResilienceProperties properties, MeterRegistry registry) {
+        for (String route : Routes.ALL) {
+            Guard guard = new Guard(new Semaphore(properties.maxConcurrentCalls(route)),
+                    properties.maxConcurrentCalls(route), new CircuitBreaker(properties));
+            guards.put(route, guard);
+            Gauge.builder("shareit.gateway.route.circuit.state", guard.breaker, b -> b.getState().ordinal())
+                    .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                    .tag("route", route)
+                    .register(registry);
+            Gauge.builder("shareit.gateway.route.bulkhead.available", guard.bulkhead, Semaphore::availablePermits)
+                    .description("Concurrent upstream calls still available to the route")
+                    .tag("route", route)
+                    .register(registry);
+        }
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String route,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        Guard guard = guards.get(route);
+        if (guard == null) {
+            return call.get();
+        }
+        if (!guard.bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RouteUnavailableException("Too many concurrent calls to " + route));
+        }
+        if (!guard.breaker.tryAcquire()) {
+            guard.bulkhead.release();
+            return CompletableFuture.failedFuture(
+                    new RouteUnavailableException("Circuit breaker for " + route + " is open"));
+        }
+        long started = System.nanoTime();
+        CompletableFuture<ResponseEntity<Object>> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((response, e) -> {
+            guard.bulkhead.release();
+            guard.breaker.onResult(e != null || response.getStatusCode().is5xxServerError(),
+                    System.nanoTime() - started);
+        });
+    }
+
+    public Map<String, Map<String, Object>> describe() {
+        Map<String, Map<String, Object>> routes = new LinkedHashMap<>();
+        guards.forEach((route, guard) -> routes.put(route, Map.of(
+                "state", guard.breaker.getState(),
+                "failureRate", guard.breaker.failureRate(),
+                "slowCallRate", guard.breaker.slowCallRate(),
+                "availableConcurrentCalls", guard.bulkhead.availablePermits(),
+                "maxConcurrentCalls", guard.maxConcurrentCalls)));
+        return routes;
+    }
+
+    CircuitBreaker.State state(String route) {
+        return guards.get(route).breaker.getState();
+    }
+
+
+    private static class Guard {
+        private final Semaphore bulkhead;
+        private final int maxConcurrentCalls;
+        private final CircuitBreaker breaker;
+
+        Guard(Semaphore bulkhead, int maxConcurrentCalls, CircuitBreaker breaker) {
+            this.bulkhead = bulkhead;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.breaker = breaker;
+        }
+    }
+}
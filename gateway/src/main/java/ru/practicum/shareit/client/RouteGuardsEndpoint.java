@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+@Endpoint(id = "upstreams")
+public class RouteGuardsEndpoint {
+    private final RouteGuards routeGuards;
+
+    public RouteGuardsEndpoint(RouteGuards routeGuards) {
+        this.routeGuards = routeGuards;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> routes() {
+        return routeGuards.describe();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class SingleFlight {
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(MeterRegistry registry) {
+        this.leaders = Counter.builder("shareit.gateway.singleflight.requests")
+                .description("Idempotent GETs that went upstream")
+                .tag("result", "leader")
+                .register(registry);
+        this.followers = Counter.builder("shareit.gateway.singleflight.requests")
+                .description("Idempotent GETs that joined an identical in-flight upstream call")
+                .tag("result", "coalesced")
+                .register(registry);
+        Gauge.builder("shareit.gateway.singleflight.ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of idempotent GETs served by another request's upstream call")
+                .register(registry);
+        Gauge.builder("shareit.gateway.singleflight.in.flight", inFlight, ConcurrentMap::size)
+                .description("Distinct upstream GETs currently in flight")
+                .register(registry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String key,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        Flight flight = new Flight();
+        while (true) {
+            Flight existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                break;
+            }
+            if (existing.join()) {
+                followers.increment();
+                return existing.result;
+            }
+            inFlight.remove(key, existing);
+        }
+
+        leaders.increment();
+        CompletableFuture<ResponseEntity<Object>> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((response, e) -> {
+            inFlight.remove(key, flight);
+            boolean shared = flight.close();
+            if (e != null) {
+                flight.result.completeExceptionally(e);
+                return;
+            }
+            try {
+                flight.result.complete(shared ? BaseClient.buffered(response) : response);
+            } catch (UncheckedIOException ioException) {
+                flight.result.completeExceptionally(ioException.getCause());
+            }
+        });
+        return flight.result;
+    }
+
+    private double coalescingRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    private static class Flight {
+        private final CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        private int followers;
+        private boolean closed;
+
+        synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        synchronized boolean close() {
+            closed = true;
+            return followers > 0;
+        }
+    }
+}
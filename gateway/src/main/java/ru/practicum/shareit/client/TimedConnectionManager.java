@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class TimedConnectionManager implements HttpClientConnectionManager {
+    private final HttpClientConnectionManager delegate;
+    private final Timer leased;
+    private final Timer leaseFailed;
+
+    public TimedConnectionManager(HttpClientConnectionManager delegate, MeterRegistry registry, String name) {
+        this.delegate = delegate;
+        this.leased = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("httpclient", name)
+                .tag("outcome", "SUCCESS")
+                .register(registry);
+        this.leaseFailed = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("httpclient", name)
+                .tag("outcome", "FAILURE")
+                .register(registry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = delegate.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long started = System.nanoTime();
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    leased.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return connection;
+                } catch (InterruptedException | ExecutionException | ConnectionPoolTimeoutException
+                         | RuntimeException e) {
+                    leaseFailed.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(HttpClientConnection conn, Object newState, long validDuration, TimeUnit timeUnit) {
+        delegate.releaseConnection(conn, newState, validDuration, timeUnit);
+    }
+
+    @Override
+    public void connect(HttpClientConnection conn, HttpRoute route, int connectTimeout, HttpContext context)
+            throws IOException {
+        delegate.connect(conn, route, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(HttpClientConnection conn, HttpRoute route, HttpContext context) throws IOException {
+        delegate.upgrade(conn, route, context);
+    }
+
+    @Override
+    public void routeComplete(HttpClientConnection conn, HttpRoute route, HttpContext context) throws IOException {
+        delegate.routeComplete(conn, route, context);
+    }
+
+    @Override
+    public void closeIdleConnections(long idletime, TimeUnit timeUnit) {
+        delegate.closeIdleConnections(idletime, timeUnit);
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        delegate.closeExpiredConnections();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+}
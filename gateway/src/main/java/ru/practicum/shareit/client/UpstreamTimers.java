@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.slo.SloProperties;
+import ru.practicum.shareit.slo.SloTracker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class UpstreamTimers {
+    private final SloProperties properties;
+    private final SloTracker tracker;
+    private final MeterRegistry registry;
+
+    public UpstreamTimers(SloProperties properties, SloTracker tracker, MeterRegistry registry) {
+        this.properties = properties;
+        this.tracker = tracker;
+        this.registry = registry;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String route, HttpMethod method,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        long started = System.nanoTime();
+        CompletableFuture<ResponseEntity<Object>> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((response, e) -> {
+            long elapsed = System.nanoTime() - started;
+            String outcome = e != null ? "ERROR" : response.getStatusCode().series().name();
+            Timer.builder("shareit.gateway.upstream")
+                    .description("Latency of calls from the gateway to the ShareIt server")
+                    .tags("route", route, "method", method.name(), "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .serviceLevelObjectives(properties.latency(route))
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            tracker.record(route, elapsed, e != null || response.getStatusCode().is5xxServerError());
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Smile between gateway and server, JSON towards external clients. Streamed bodies are transcoded as they are read.
+ */
+final class WireFormat {
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    static final List<MediaType> ACCEPT_SMILE = List.of(SMILE, MediaType.valueOf("application/json;q=0.5"));
+    private static final SmileFactory SMILE_FACTORY = SmileFactory.builder()
+            .disable(SmileParser.Feature.REQUIRE_HEADER)
+            .build();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private WireFormat() {
+    }
+
+    static ResponseEntity<Object> toJson(ResponseEntity<Object> response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null || !SMILE.includes(contentType)) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+        Object body = response.getBody();
+        if (body instanceof InputStreamResource) {
+            try {
+                body = new InputStreamResource(new JsonTranscoder(((InputStreamResource) body).getInputStream()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        } else if (body instanceof byte[]) {
+            body = transcode((byte[]) body);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(body);
+    }
+
+    static byte[] transcode(byte[] smile) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = SMILE_FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+
+    /**
+     * Pulls Smile tokens only when the JSON already produced has been read, so memory stays at one generator buffer.
+     */
+    private static final class JsonTranscoder extends InputStream {
+        private final JsonParser parser;
+        private final Chunk chunk = new Chunk();
+        private final JsonGenerator generator;
+        private int position;
+        private boolean finished;
+
+        JsonTranscoder(InputStream smile) throws IOException {
+            this.parser = SMILE_FACTORY.createParser(smile);
+            this.generator = JSON_FACTORY.createGenerator(chunk);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return chunk.byteAt(position++);
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.size() - position);
+            chunk.copyTo(position, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                generator.close();
+            } finally {
+                parser.close();
+            }
+        }
+
+        private boolean fill() throws IOException {
+            while (position == chunk.size()) {
+                if (finished) {
+                    return false;
+                }
+                chunk.reset();
+                position = 0;
+                if (parser.nextToken() == null) {
+                    finished = true;
+                    generator.close();
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Chunk extends ByteArrayOutputStream {
+        int byteAt(int index) {
+            return buf[index] & 0xFF;
+        }
+
+        void copyTo(int from, byte[] target, int offset, int length) {
+            System.arraycopy(buf, from, target, offset, length);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class RouteUnavailableException extends RuntimeException {
+    public RouteUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,21 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @Validated
@@ -25,38 +30,45 @@ public class ItemController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(USER_HEADER) long userId, @Valid @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(@RequestHeader(USER_HEADER) long userId, @Valid @RequestBody ItemDto itemDto) {
         return itemClient.create(userId, itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader(USER_HEADER) long userId,
+                                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream body) {
+        return itemClient.importItems(userId, MediaType.parseMediaType(contentType), body);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader(USER_HEADER) long userId, @PathVariable long itemId,
-                                         @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(@RequestHeader(USER_HEADER) long userId, @PathVariable long itemId,
+                                                            @RequestBody ItemDto itemDto) {
         return itemClient.update(userId, itemId, itemDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@RequestHeader(USER_HEADER) long userId, @PathVariable long id) {
+    public CompletableFuture<ResponseEntity<Object>> getById(@RequestHeader(USER_HEADER) long userId, @PathVariable long id) {
         return itemClient.getById(id, userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchByText(@RequestParam String text,
-                                               @RequestParam(defaultValue = "0") @Min(0) int from,
-                                               @RequestParam(defaultValue = "20") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> searchByText(@RequestParam String text,
+                                                                  @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                                  @RequestParam(defaultValue = "20") @Positive int size) {
         return itemClient.searchByText(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader(USER_HEADER) long userId, @PathVariable long itemId,
-                                             @Valid @RequestBody CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(@RequestHeader(USER_HEADER) long userId, @PathVariable long itemId,
+                                                                @Valid @RequestBody CommentDto commentDto) {
         return itemClient.addComment(userId, itemId, commentDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll(@RequestHeader(USER_HEADER) long userId,
-                                          @RequestParam(defaultValue = "0") @Min(0) int from,
-                                          @RequestParam(defaultValue = "20") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> findAll(@RequestHeader(USER_HEADER) long userId,
+                                                             @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                             @RequestParam(defaultValue = "20") @Positive int size) {
         return itemClient.findAll(userId, from, size);
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+    public static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final long IN_FLIGHT_RETRY_SECONDS = 1;
+    private final RateLimiter rateLimiter;
+    private final Counter userRejections;
+    private final Counter inFlightRejections;
+
+    public RateLimitFilter(RateLimiter rateLimiter, MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.userRejections = Counter.builder("shareit.gateway.ratelimit.rejected")
+                .description("Requests rejected because the user's token bucket was empty")
+                .tag("reason", "user")
+                .register(registry);
+        this.inFlightRejections = Counter.builder("shareit.gateway.ratelimit.rejected")
+                .description("Requests rejected because the gateway in-flight cap was reached")
+                .tag("reason", "in-flight")
+                .register(registry);
+        Gauge.builder("shareit.gateway.ratelimit.in.flight", rateLimiter, RateLimiter::inFlight)
+                .description("Requests currently holding an in-flight permit")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!rateLimiter.tryEnter()) {
+            inFlightRejections.increment();
+            reject(response, IN_FLIGHT_RETRY_SECONDS);
+            return;
+        }
+        Long userId = userId(request);
+        if (userId != null) {
+            long waitNanos = rateLimiter.tryAcquire(userId, isWrite(request.getMethod()));
+            if (waitNanos > 0) {
+                rateLimiter.exit();
+                userRejections.increment();
+                reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+                return;
+            }
+        }
+        PermitHoldingRequest permitHolder = new PermitHoldingRequest(request);
+        try {
+            chain.doFilter(permitHolder, response);
+        } finally {
+            if (!permitHolder.asyncStarted) {
+                rateLimiter.exit();
+            }
+        }
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        String header = request.getHeader(USER_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)
+                && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+
+    private class PermitHoldingRequest extends HttpServletRequestWrapper implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private boolean asyncStarted;
+
+        PermitHoldingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            return holdPermit(super.startAsync());
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+            return holdPermit(super.startAsync(request, response));
+        }
+
+        private AsyncContext holdPermit(AsyncContext asyncContext) {
+            if (!asyncStarted) {
+                asyncStarted = true;
+                asyncContext.addListener(this);
+            }
+            return asyncContext;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                rateLimiter.exit();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled;
+    private double readsPerSecond = 50;
+    private int readBurst = 100;
+    private double writesPerSecond = 10;
+    private int writeBurst = 20;
+    private int maxInFlight = 500;
+    private int maxUsers = 100_000;
+    private int stripes = 64;
+}
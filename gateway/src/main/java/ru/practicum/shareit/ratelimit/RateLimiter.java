@@ -0,0 +1,80 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.LongSupplier;
+
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Map<Long, UserBuckets>[] stripes;
+    private final Semaphore inFlight;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    RateLimiter(RateLimitProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes()));
+        int usersPerStripe = Math.max(1, properties.getMaxUsers() / stripeCount);
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserBuckets> eldest) {
+                    return size() > usersPerStripe;
+                }
+            };
+        }
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+    }
+
+    /**
+     * Takes a token from the user's read or write budget.
+     *
+     * @return {@code 0} when the request may proceed, otherwise the nanoseconds until the budget refills
+     */
+    public long tryAcquire(long userId, boolean write) {
+        long now = clock.getAsLong();
+        UserBuckets buckets = buckets(userId, now);
+        return (write ? buckets.writes : buckets.reads).tryAcquire(now);
+    }
+
+    public boolean tryEnter() {
+        return inFlight.tryAcquire();
+    }
+
+    public void exit() {
+        inFlight.release();
+    }
+
+    public int inFlight() {
+        return properties.getMaxInFlight() - inFlight.availablePermits();
+    }
+
+    private UserBuckets buckets(long userId, long now) {
+        Map<Long, UserBuckets> stripe = stripes[Long.hashCode(userId * 0x9E3779B97F4A7C15L) & (stripes.length - 1)];
+        synchronized (stripe) {
+            UserBuckets buckets = stripe.get(userId);
+            if (buckets == null) {
+                buckets = new UserBuckets(properties, now);
+                stripe.put(userId, buckets);
+            }
+            return buckets;
+        }
+    }
+
+    private static class UserBuckets {
+        private final TokenBucket reads;
+        private final TokenBucket writes;
+
+        UserBuckets(RateLimitProperties properties, long now) {
+            this.reads = new TokenBucket(properties.getReadBurst(), properties.getReadsPerSecond(), now);
+            this.writes = new TokenBucket(properties.getWriteBurst(), properties.getWritesPerSecond(), now);
+        }
+    }
+}
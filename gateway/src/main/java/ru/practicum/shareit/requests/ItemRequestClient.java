@@ -4,37 +4,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> save(ItemRequestDto itemRequestDto, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> save(ItemRequestDto itemRequestDto, long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getByRequestorId(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getByRequestorId(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAll(Long userId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getAll(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +45,16 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from=" + from + "&size=" + size, userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllAfter(Long userId, LocalDateTime afterCreated, Long afterId, int size) {
+        Map<String, Object> parameters = Map.of(
+                "afterCreated", afterCreated,
+                "afterId", afterId,
+                "size", size
+        );
+        return get("/all?afterCreated={afterCreated}&afterId={afterId}&size={size}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
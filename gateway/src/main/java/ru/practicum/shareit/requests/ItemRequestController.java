@@ -1,6 +1,7 @@
 package ru.practicum.shareit.requests;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,6 +11,8 @@ import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @Validated
@@ -24,26 +27,33 @@ public class ItemRequestController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestHeader(USER_HEADER) long userId,
-                                      @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> add(@RequestHeader(USER_HEADER) long userId,
+                                                         @Valid @RequestBody ItemRequestDto itemRequestDto) {
         return requestClient.save(itemRequestDto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll(@RequestHeader(USER_HEADER) long userId) {
+    public CompletableFuture<ResponseEntity<Object>> findAll(@RequestHeader(USER_HEADER) long userId) {
         return requestClient.getByRequestorId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllWithPageable(@RequestHeader(USER_HEADER) long userId,
-                                                      @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                      @RequestParam(defaultValue = "20") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> findAllWithPageable(@RequestHeader(USER_HEADER) long userId,
+                                                                         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                                         @RequestParam(defaultValue = "20") @Positive int size,
+                                                                         @RequestParam(required = false)
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                         LocalDateTime afterCreated,
+                                                                         @RequestParam(required = false) @Positive Long afterId) {
+        if (afterCreated != null && afterId != null) {
+            return requestClient.getAllAfter(userId, afterCreated, afterId, size);
+        }
         return requestClient.getAll(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findByRequestId(@RequestHeader(USER_HEADER) long userId,
-                                                  @PathVariable long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> findByRequestId(@RequestHeader(USER_HEADER) long userId,
+                                                                     @PathVariable long requestId) {
         return requestClient.getById(userId, requestId);
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -21,27 +22,27 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public CompletableFuture<ResponseEntity<Object>> getAll() {
         return userClient.getAllUsers();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@PathVariable long id) {
+    public CompletableFuture<ResponseEntity<Object>> getById(@PathVariable long id) {
         return userClient.getUserById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         return userClient.create(userDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@PathVariable long id, @RequestBody UserDto user) {
+    public CompletableFuture<ResponseEntity<Object>> update(@PathVariable long id, @RequestBody UserDto user) {
         return userClient.update(id, user);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> remove(@PathVariable long id) {
+    public CompletableFuture<ResponseEntity<Object>> remove(@PathVariable long id) {
         return userClient.delete(id);
     }
 }
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.execution-mode=async",
+        "shareit-server.coalesce-gets=false",
+        "shareit-server.resilience.max-concurrent-calls.users=" + AsyncGatewayLoadTest.REQUESTS,
+        "server.tomcat.threads.max=" + AsyncGatewayLoadTest.SERVLET_THREADS,
+        "server.tomcat.threads.min-spare=" + AsyncGatewayLoadTest.SERVLET_THREADS
+})
+public class AsyncGatewayLoadTest {
+    static final int SERVLET_THREADS = 4;
+    static final int REQUESTS = 40;
+    private static final long UPSTREAM_DELAY_MS = 300;
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+    private static final HttpServer SERVER = startServer();
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+    @Autowired
+    private PoolingNHttpClientConnectionManager asyncConnectionManager;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    void servesMoreConcurrentRequestsThanServletThreads() {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1")).build();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+
+        assertTrue(MAX_IN_FLIGHT.get() > SERVLET_THREADS);
+        assertTrue(asyncConnectionManager.getTotalStats().getAvailable() > 0);
+        assertEquals(0, connectionManager.getTotalStats().getAvailable());
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/users/1", exchange -> {
+                MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(UPSTREAM_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    IN_FLIGHT.decrementAndGet();
+                }
+                byte[] body = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.ru\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
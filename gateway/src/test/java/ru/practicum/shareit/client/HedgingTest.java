@@ -0,0 +1,188 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HedgingTest {
+    private static final int REQUESTS = 200;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void hedgingCutsTailLatencyForAFewExtraRequests() throws InterruptedException {
+        Hedging hedging = new Hedging(hedgingProperties(), scheduler, registry);
+        Supplier<CompletableFuture<ResponseEntity<Object>>> attempt = () ->
+                respondAfter(attempts.incrementAndGet() % 20 == 0 ? 300 : 5);
+
+        List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(hedging.execute("items", attempt));
+        }
+        responses.forEach(response -> assertEquals(200, response.join().getStatusCodeValue()));
+        Timer unhedged = registry.get("shareit.gateway.hedge.latency").tag("latency", "unhedged").timer();
+        while (unhedged.count() < REQUESTS) {
+            Thread.sleep(10);
+        }
+
+        double unhedgedP99 = p99("unhedged");
+        double hedgedP99 = p99("hedged");
+        double hedges = registry.get("shareit.gateway.hedge.requests").tag("attempt", "hedge").counter().count();
+        assertTrue(hedgedP99 < unhedgedP99 / 2);
+        assertTrue(hedges < REQUESTS / 2.0);
+        assertTrue(registry.get("shareit.gateway.hedge.wins").counter().count() >= REQUESTS / 20.0 - 1);
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() {
+        Hedging hedging = new Hedging(hedgingProperties(), scheduler, registry);
+
+        hedging.execute("users", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok("user"));
+        }).join();
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, registry.get("shareit.gateway.hedge.requests").tag("attempt", "hedge").counter().count());
+    }
+
+    @Test
+    void losingAttemptReleasesItsBody() throws InterruptedException {
+        Hedging hedging = new Hedging(hedgingProperties(), scheduler, registry);
+        List<AtomicBoolean> closed = List.of(new AtomicBoolean(), new AtomicBoolean());
+
+        ResponseEntity<Object> winner = hedging.execute("items", () -> {
+            int attempt = attempts.getAndIncrement();
+            CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+            scheduler.schedule(() -> response.complete(streamed(closed.get(attempt))),
+                    attempt == 0 ? 200 : 5, TimeUnit.MILLISECONDS);
+            return response;
+        }).join();
+
+        assertEquals(2, attempts.get());
+        BaseClient.discard(winner);
+        await(closed.get(0));
+        assertTrue(closed.get(1).get());
+    }
+
+    @Test
+    void primaryThrowingFailsTheCall() {
+        Hedging hedging = new Hedging(hedgingProperties(), scheduler, registry);
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> hedging.execute("items", () -> {
+            throw new ResourceAccessException("refused");
+        }).join());
+
+        assertInstanceOf(ResourceAccessException.class, failure.getCause());
+    }
+
+    @Test
+    void connectionFailuresAreRetriedWithinBounds() {
+        Retries retries = new Retries(retryProperties(), registry);
+
+        ResponseEntity<Object> response = retries.execute("users", () -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(connectFailure())
+                : CompletableFuture.completedFuture(ResponseEntity.ok("ok"))).join();
+
+        assertEquals("ok", response.getBody());
+        assertEquals(2, registry.get("shareit.gateway.retries").counter().count());
+
+        attempts.set(0);
+        CompletionException exhausted = assertThrows(CompletionException.class, () -> retries.execute("users", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(connectFailure());
+        }).join());
+        assertInstanceOf(ResourceAccessException.class, exhausted.getCause());
+        assertEquals(3, attempts.get());
+
+        attempts.set(0);
+        assertThrows(CompletionException.class, () -> retries.execute("users", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new ResourceAccessException("read timed out"));
+        }).join());
+        assertEquals(1, attempts.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> respondAfter(long millis) {
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        scheduler.schedule(() -> response.complete(ResponseEntity.ok("item")), millis, TimeUnit.MILLISECONDS);
+        return response;
+    }
+
+    private static ResponseEntity<Object> streamed(AtomicBoolean closed) {
+        InputStream body = new ByteArrayInputStream(new byte[]{'{', '}'}) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        return ResponseEntity.ok(new InputStreamResource(body));
+    }
+
+    private static void await(AtomicBoolean condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.get());
+    }
+
+    private double p99(String latency) {
+        Timer timer = registry.get("shareit.gateway.hedge.latency").tag("latency", latency).timer();
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == 0.99) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        throw new IllegalStateException("p99 is not published");
+    }
+
+    private static ResourceAccessException connectFailure() {
+        return new ResourceAccessException("I/O error", new IOException(new ConnectException("Connection refused")));
+    }
+
+    private static HedgingProperties hedgingProperties() {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setMinDelay(Duration.ofMillis(30));
+        return properties;
+    }
+
+    private static RetryProperties retryProperties() {
+        RetryProperties properties = new RetryProperties();
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(5));
+        return properties;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.requests.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "shareit-server.url=http://localhost:9",
+        "shareit-server.execution-mode=blocking",
+        "shareit-server.http-client.max-connections=50"
+})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class HttpClientConfigTest {
+    private final ClientHttpRequestFactory requestFactory;
+    private final BookingClient bookingClient;
+    private final ItemClient itemClient;
+    private final UserClient userClient;
+    private final ItemRequestClient itemRequestClient;
+    private final MeterRegistry registry;
+
+    @Test
+    void allClientsShareOnePool() {
+        assertSame(requestFactory, unwrap(bookingClient.rest.getRequestFactory()));
+        assertSame(requestFactory, unwrap(itemClient.rest.getRequestFactory()));
+        assertSame(requestFactory, unwrap(userClient.rest.getRequestFactory()));
+        assertSame(requestFactory, unwrap(itemRequestClient.rest.getRequestFactory()));
+    }
+
+    @Test
+    void poolMetricsAreRegistered() {
+        assertEquals(50, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", "shareit-server").gauge().value());
+    }
+
+    @Test
+    void leaseTimeIsRecorded() {
+        long before = registry.get("httpcomponents.httpclient.pool.lease")
+                .tag("outcome", "SUCCESS").timer().count();
+
+        CompletionException e = assertThrows(CompletionException.class, () -> userClient.getUserById(1L).join());
+        assertTrue(e.getCause() instanceof ResourceAccessException);
+
+        assertTrue(registry.get("httpcomponents.httpclient.pool.lease")
+                .tag("outcome", "SUCCESS").timer().count() > before);
+    }
+
+    private static ClientHttpRequestFactory unwrap(ClientHttpRequestFactory factory) {
+        while (factory instanceof AbstractClientHttpRequestFactoryWrapper) {
+            factory = (ClientHttpRequestFactory) ReflectionTestUtils.getField(factory, "requestFactory");
+        }
+        return factory;
+    }
+}
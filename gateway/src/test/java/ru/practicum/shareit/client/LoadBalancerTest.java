@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "shareit-server.coalesce-gets=false",
+        "shareit-server.cache.enabled=false",
+        "shareit-server.resilience.enabled=false",
+        "shareit-server.balancer.health-check-interval=100ms",
+        "shareit-server.balancer.eject-after-failures=2",
+        "shareit-server.balancer.eject-duration=1m"
+})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class LoadBalancerTest {
+    private static final int REQUESTS = 60;
+    private static final List<Instance> INSTANCES = List.of(new Instance(), new Instance(), new Instance());
+    private final UserClient userClient;
+
+    @DynamicPropertySource
+    static void serverUrls(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> INSTANCES.get(0).url());
+        registry.add("shareit-server.urls", () -> INSTANCES.stream()
+                .map(Instance::url)
+                .collect(Collectors.joining(",")));
+    }
+
+    @AfterAll
+    static void stopServers() {
+        INSTANCES.forEach(instance -> instance.server.stop(0));
+    }
+
+    @Test
+    void spreadsCallsAndLeavesOutFailingOrUnhealthyInstances() throws Exception {
+        Instance first = INSTANCES.get(0);
+        Instance second = INSTANCES.get(1);
+        Instance third = INSTANCES.get(2);
+
+        sendRequests();
+        INSTANCES.forEach(instance -> assertTrue(instance.calls.get() > 0));
+
+        third.failing.set(true);
+        sendRequests();
+        int thirdCalls = third.calls.get();
+        sendRequests();
+        assertEquals(thirdCalls, third.calls.get());
+
+        first.healthy.set(false);
+        Thread.sleep(500);
+        int firstCalls = first.calls.get();
+        int secondCalls = second.calls.get();
+        sendRequests();
+        assertEquals(firstCalls, first.calls.get());
+        assertEquals(secondCalls + REQUESTS, second.calls.get());
+    }
+
+    private void sendRequests() {
+        for (int i = 0; i < REQUESTS; i++) {
+            BaseClient.buffered(userClient.getUserById(1L).join());
+        }
+    }
+
+    private static class Instance {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicBoolean failing = new AtomicBoolean();
+        private final AtomicBoolean healthy = new AtomicBoolean(true);
+        private final HttpServer server;
+
+        Instance() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+                server.createContext("/actuator/health", exchange ->
+                        respond(exchange, healthy.get() ? 200 : 503,
+                                healthy.get() ? "{\"status\":\"UP\"}" : "{\"status\":\"DOWN\"}"));
+                server.createContext("/users", exchange -> {
+                    calls.incrementAndGet();
+                    respond(exchange, failing.get() ? 500 : 200, "{\"id\":1}");
+                });
+                server.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String url() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.BookingClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"shareit-server.execution-mode=blocking", "shareit-server.wire-format=smile"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class PassthroughTest {
+    private static final int BOOKINGS = 1000;
+    private static final byte[] BOOKING_LIST = bookingList();
+    private static final HttpServer SERVER = startServer();
+    private final MockMvc mvc;
+    private final ObjectMapper mapper;
+    private final BookingClient bookingClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @AfterEach
+    void resetMode() {
+        bookingClient.setPassthrough(true);
+    }
+
+    @Test
+    void passthroughReturnsSameBodyAsParsing() throws Exception {
+        bookingClient.setPassthrough(false);
+        String parsedBody = fetch();
+
+        bookingClient.setPassthrough(true);
+        String rawBody = fetch();
+
+        assertEquals(mapper.readTree(parsedBody), mapper.readTree(rawBody));
+    }
+
+    @Test
+    void passthroughPreservesErrorStatusAndContentType() throws Exception {
+        bookingClient.setPassthrough(true);
+        MvcResult result = mvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("Content-Type", "text/plain;charset=UTF-8"))
+                .andExpect(response -> assertEquals("Booking with id: 1 not exist",
+                        response.getResponse().getContentAsString()));
+    }
+
+    @Test
+    void exportErrorsAreNotRelayedAsSmile() throws Exception {
+        MvcResult result = mvc.perform(get("/bookings/export?state=FOO").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(response -> assertEquals("{\"error\":\"Unknown state: FOO\"}",
+                        response.getResponse().getContentAsString()));
+    }
+
+    private String fetch() throws Exception {
+        MvcResult result = mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/bookings/owner", exchange -> {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, BOOKING_LIST.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(BOOKING_LIST);
+                }
+            });
+            server.createContext("/bookings/1", exchange -> {
+                byte[] body = "Booking with id: 1 not exist".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+                exchange.sendResponseHeaders(404, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.createContext("/bookings/export", exchange -> {
+                String accept = exchange.getRequestHeaders().getFirst("Accept");
+                boolean smile = accept != null && accept.contains("smile");
+                byte[] body = smile
+                        ? new ObjectMapper(new SmileFactory()).writeValueAsBytes(Map.of("error", "Unknown state: FOO"))
+                        : "{\"error\":\"Unknown state: FOO\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type",
+                        smile ? "application/x-jackson-smile" : "application/json");
+                exchange.sendResponseHeaders(400, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] bookingList() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= BOOKINGS; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"booker\":{\"id\":2,\"name\":\"Booker\",\"email\":\"booker@mail.ru\"}")
+                    .append(",\"item\":{\"id\":").append(i)
+                    .append(",\"name\":\"Item ").append(i)
+                    .append("\",\"description\":\"Description of item ").append(i)
+                    .append("\",\"available\":true,\"requestId\":null,\"comments\":[]}")
+                    .append(",\"status\":\"APPROVED\",\"start\":\"2022-09-01T10:00:00\",\"end\":\"2022-09-02T10:00:00\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "shareit-server.cache.enabled=true")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ResponseCacheTest {
+    private static final String ETAG = "W/\"1a2b\"";
+    private static final byte[] USER = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.ru\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final AtomicInteger FULL_RESPONSES = new AtomicInteger();
+    private static final AtomicInteger NOT_MODIFIED = new AtomicInteger();
+    private static final HttpServer SERVER = startServer();
+    private final MockMvc mvc;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    void servesFreshEntriesAndAnswersClientConditionalsWithoutCallingTheServer() throws Exception {
+        int fullResponses = FULL_RESPONSES.get();
+        int notModified = NOT_MODIFIED.get();
+        for (int i = 0; i < 3; i++) {
+            perform(null)
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                    .andExpect(content().bytes(USER));
+        }
+        perform(ETAG)
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(fullResponses + 1, FULL_RESPONSES.get());
+        assertEquals(notModified, NOT_MODIFIED.get());
+    }
+
+    @Test
+    void revalidatesStaleEntriesWithTheServer() {
+        ResponseCache cache = new ResponseCache(10, Duration.ZERO, new SimpleMeterRegistry());
+        List<String> conditionals = new ArrayList<>();
+        Function<HttpHeaders, CompletableFuture<ResponseEntity<Object>>> server = headers -> {
+            conditionals.add(headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+            return CompletableFuture.completedFuture(headers.getIfNoneMatch().contains(ETAG)
+                    ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build()
+                    : ResponseEntity.ok().eTag(ETAG).body(USER));
+        };
+
+        ResponseEntity<Object> first = cache.execute("/users/1|1", "/users/1", new HttpHeaders(), server).join();
+        ResponseEntity<Object> second = cache.execute("/users/1|1", "/users/1", new HttpHeaders(), server).join();
+
+        assertEquals(Arrays.asList(null, ETAG), conditionals);
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertArrayEquals(USER, (byte[]) second.getBody());
+        assertArrayEquals(USER, (byte[]) first.getBody());
+    }
+
+    @Test
+    void writesDropFreshEntriesForThePath() {
+        ResponseCache cache = new ResponseCache(10, Duration.ofHours(1), new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+        Function<HttpHeaders, CompletableFuture<ResponseEntity<Object>>> server = headers -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok().eTag(ETAG).body(USER));
+        };
+
+        cache.execute("/users/1|1", "/users/1", new HttpHeaders(), server).join();
+        cache.execute("/users/1|1", "/users/1", new HttpHeaders(), server).join();
+        cache.invalidate("/users/1");
+        cache.execute("/users/1|1", "/users/1", new HttpHeaders(), server).join();
+
+        assertEquals(2, calls.get());
+    }
+
+    private ResultActions perform(String ifNoneMatch) throws Exception {
+        var builder = get("/users/1");
+        if (ifNoneMatch != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MvcResult result = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/users/1", exchange -> {
+                exchange.getResponseHeaders().set(HttpHeaders.ETAG, ETAG);
+                if (ETAG.equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                    NOT_MODIFIED.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+                FULL_RESPONSES.incrementAndGet();
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+                exchange.sendResponseHeaders(200, USER.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(USER);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
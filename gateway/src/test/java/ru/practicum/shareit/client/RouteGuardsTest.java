@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.exception.RouteUnavailableException;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "shareit-server.coalesce-gets=false",
+        "shareit-server.cache.enabled=false",
+        "shareit-server.resilience.enabled=true",
+        "shareit-server.resilience.sliding-window-size=4",
+        "shareit-server.resilience.minimum-calls=4",
+        "shareit-server.resilience.open-duration=300ms",
+        "shareit-server.resilience.half-open-calls=2",
+        "shareit-server.resilience.max-concurrent-calls.users=1"
+})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class RouteGuardsTest {
+    private static final AtomicBoolean SEARCH_FAILING = new AtomicBoolean();
+    private static final AtomicInteger SEARCH_CALLS = new AtomicInteger();
+    private static final HttpServer SERVER = startServer();
+    private final MockMvc mvc;
+    private final RouteGuards routeGuards;
+    private final ItemClient itemClient;
+    private final BookingClient bookingClient;
+    private final UserClient userClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    void failingSearchTripsOnlyItsOwnBreakerAndRecovers() throws Exception {
+        SEARCH_FAILING.set(true);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(500, search().getStatusCodeValue());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, routeGuards.state("search"));
+
+        CompletionException rejected = assertThrows(CompletionException.class, this::search);
+        assertInstanceOf(RouteUnavailableException.class, rejected.getCause());
+        assertEquals(4, SEARCH_CALLS.get());
+        assertEquals(200, bookingClient.getById(1L, 1L).join().getStatusCodeValue());
+        mvc.perform(get("/actuator/upstreams"))
+                .andExpect(jsonPath("$.search.state", is("OPEN")))
+                .andExpect(jsonPath("$.bookings.state", is("CLOSED")));
+
+        SEARCH_FAILING.set(false);
+        Thread.sleep(350);
+        assertEquals(200, search().getStatusCodeValue());
+        assertEquals(200, search().getStatusCodeValue());
+        assertEquals(CircuitBreaker.State.CLOSED, routeGuards.state("search"));
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheRouteLimit() {
+        CompletableFuture<ResponseEntity<Object>> first = userClient.getUserById(1L);
+
+        CompletionException rejected = assertThrows(CompletionException.class,
+                () -> userClient.getUserById(2L).join());
+        assertInstanceOf(RouteUnavailableException.class, rejected.getCause());
+        assertEquals(200, first.join().getStatusCodeValue());
+        assertEquals(200, userClient.getUserById(2L).join().getStatusCodeValue());
+    }
+
+    private ResponseEntity<Object> search() {
+        return itemClient.searchByText("drill", 0, 10).join();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/items/search", exchange -> {
+                SEARCH_CALLS.incrementAndGet();
+                respond(exchange, SEARCH_FAILING.get() ? 500 : 200, "[]");
+            });
+            server.createContext("/bookings", exchange -> respond(exchange, 200, "{\"id\":1}"));
+            server.createContext("/users", exchange -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                respond(exchange, 200, "{\"id\":1}");
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(registry);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void identicalConcurrentCallsShareOneUpstreamCall() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> first = singleFlight.execute("/items/1|1", () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> second = singleFlight.execute("/items/1|1", () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> third = singleFlight.execute("/items/1|1", () -> call(upstream));
+
+        upstream.complete(ResponseEntity.ok("item"));
+
+        assertEquals(1, calls.get());
+        assertEquals("item", first.join().getBody());
+        assertSame(first.join(), second.join());
+        assertSame(first.join(), third.join());
+        assertEquals(1, registry.get("shareit.gateway.singleflight.requests").tag("result", "leader")
+                .counter().count());
+        assertEquals(2, registry.get("shareit.gateway.singleflight.requests").tag("result", "coalesced")
+                .counter().count());
+        assertEquals(2.0 / 3, registry.get("shareit.gateway.singleflight.ratio").gauge().value(), 1e-9);
+        assertEquals(0, registry.get("shareit.gateway.singleflight.in.flight").gauge().value());
+    }
+
+    @Test
+    void differentKeysAndCompletedFlightsGoUpstream() {
+        CompletableFuture<ResponseEntity<Object>> upstream = CompletableFuture.completedFuture(ResponseEntity.ok("x"));
+        singleFlight.execute("/items/1|1", () -> call(upstream)).join();
+        singleFlight.execute("/items/1|2", () -> call(upstream)).join();
+        singleFlight.execute("/items/1|1", () -> call(upstream)).join();
+
+        assertEquals(3, calls.get());
+        assertEquals(0, registry.get("shareit.gateway.singleflight.ratio").gauge().value());
+    }
+
+    @Test
+    void sharedStreamingBodyIsBufferedForEveryCaller() {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> first = singleFlight.execute("/bookings|1", () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> second = singleFlight.execute("/bookings|1", () -> call(upstream));
+
+        upstream.complete(ResponseEntity.ok(new InputStreamResource(new ByteArrayInputStream(body))));
+
+        assertArrayEquals(body, (byte[]) first.join().getBody());
+        assertArrayEquals(body, (byte[]) second.join().getBody());
+    }
+
+    @Test
+    void failureIsPropagatedToAllCallers() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> first = singleFlight.execute("/users|1", () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> second = singleFlight.execute("/users|1", () -> call(upstream));
+
+        upstream.completeExceptionally(new IllegalStateException("down"));
+
+        assertThrows(RuntimeException.class, first::join);
+        assertThrows(RuntimeException.class, second::join);
+        assertTrue(singleFlight.execute("/users|1", () -> call(new CompletableFuture<>())) != first);
+        assertEquals(2, calls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> call(CompletableFuture<ResponseEntity<Object>> upstream) {
+        calls.incrementAndGet();
+        return upstream;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.RouteUnavailableException;
+import ru.practicum.shareit.slo.SloProperties;
+import ru.practicum.shareit.slo.SloTracker;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UpstreamTimersTest {
+
+    @Test
+    void recordsPerRouteTimersAndBurnsBudgetOnFailures() {
+        SloProperties properties = new SloProperties();
+        properties.setObjective(0.5);
+        properties.setLatency(Map.of("search", Duration.ofSeconds(1)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SloTracker tracker = new SloTracker(properties);
+        UpstreamTimers timers = new UpstreamTimers(properties, tracker, registry);
+
+        for (int i = 0; i < 3; i++) {
+            timers.execute("items", HttpMethod.GET,
+                    () -> CompletableFuture.completedFuture(ResponseEntity.ok().build())).join();
+        }
+        timers.execute("items", HttpMethod.GET,
+                () -> CompletableFuture.completedFuture(ResponseEntity.internalServerError().build())).join();
+        timers.execute("items", HttpMethod.POST,
+                () -> CompletableFuture.failedFuture(new RouteUnavailableException("open"))).exceptionally(e -> null)
+                .join();
+
+        Timer ok = registry.get("shareit.gateway.upstream")
+                .tags("route", "items", "method", "GET", "outcome", "SUCCESSFUL").timer();
+        assertEquals(3, ok.count());
+        assertEquals(1, registry.get("shareit.gateway.upstream")
+                .tags("route", "items", "outcome", "SERVER_ERROR").timer().count());
+        assertEquals(1, registry.get("shareit.gateway.upstream")
+                .tags("route", "items", "method", "POST", "outcome", "ERROR").timer().count());
+        assertTrue(ok.takeSnapshot().histogramCounts().length > 0);
+
+        Map<String, Map<String, Object>> slo = tracker.describe();
+        assertEquals(5L, slo.get("items").get("requests"));
+        assertEquals(2L, slo.get("items").get("badRequests"));
+        assertEquals(0.8, (double) slo.get("items").get("errorBudgetBurnRate"), 1e-9);
+        assertEquals(1000L, slo.get("search").get("latencyThresholdMs"));
+        assertEquals(0L, slo.get("search").get("requests"));
+    }
+}
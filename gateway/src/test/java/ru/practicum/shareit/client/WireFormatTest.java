@@ -0,0 +1,148 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"shareit-server.wire-format=smile", "shareit-server.cache.enabled=false"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class WireFormatTest {
+    private static final String BOOKINGS = "[{\"id\":1,\"booker\":{\"id\":2,\"name\":\"Booker\"},"
+            + "\"status\":\"APPROVED\",\"start\":\"2022-09-01T10:00:00\"},"
+            + "{\"id\":2,\"booker\":{\"id\":2,\"name\":\"Booker\"},"
+            + "\"status\":\"APPROVED\",\"start\":\"2022-09-02T10:00:00\"}]";
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper SMILE = new ObjectMapper(new SmileFactory());
+    private static final AtomicInteger SMILE_RESPONSES = new AtomicInteger();
+    private static final HttpServer SERVER = startServer();
+    private final MockMvc mvc;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    void smileFromServerIsServedAsJson() throws Exception {
+        MvcResult result = mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(JSON.readTree(BOOKINGS), JSON.readTree(body));
+        assertEquals(1, SMILE_RESPONSES.get());
+    }
+
+    @Test
+    void smileWithoutHeaderIsTranscoded() throws Exception {
+        ObjectMapper headerless = new ObjectMapper(SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .build());
+        JsonNode error = JSON.readTree("{\"error\":\"Booking with id: 1 not exist\"}");
+        ResponseEntity<Object> response = WireFormat.toJson(ResponseEntity.status(404)
+                .contentType(WireFormat.SMILE)
+                .body(headerless.writeValueAsBytes(error)));
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(error, JSON.readTree((byte[]) response.getBody()));
+    }
+
+    @Test
+    void streamedSmileIsTranscodedWhileReadAndReleasesTheSource() throws Exception {
+        ArrayNode bookings = JSON.createArrayNode();
+        for (int i = 0; i < 1000; i++) {
+            bookings.addAll((ArrayNode) JSON.readTree(BOOKINGS));
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream smile = new ByteArrayInputStream(SMILE.writeValueAsBytes(bookings)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        ResponseEntity<Object> response = WireFormat.toJson(ResponseEntity.ok()
+                .contentType(WireFormat.SMILE)
+                .contentLength(smile.available())
+                .body(new InputStreamResource(smile)));
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(-1, response.getHeaders().getContentLength());
+        try (InputStream json = ((InputStreamResource) response.getBody()).getInputStream()) {
+            assertEquals(bookings, JSON.readTree(json));
+        }
+        assertTrue(closed.get());
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/bookings/owner", exchange -> {
+                boolean smile = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT)
+                        .startsWith(WireFormat.SMILE.toString());
+                if (smile) {
+                    SMILE_RESPONSES.incrementAndGet();
+                }
+                byte[] body = smile
+                        ? SMILE.writeValueAsBytes(JSON.readTree(BOOKINGS))
+                        : BOOKINGS.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE,
+                        smile ? WireFormat.SMILE.toString() : MediaType.APPLICATION_JSON_VALUE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
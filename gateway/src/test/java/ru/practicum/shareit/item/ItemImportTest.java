@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ItemImportTest {
+    private static final Map<String, String> RECEIVED = new ConcurrentHashMap<>();
+    private static final HttpServer SERVER = startServer();
+    private final MockMvc mvc;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    void importStreamsBodyToServerAndRelaysReport() throws Exception {
+        String body = "name,description,available\nDrill,Cordless,true\n";
+        MvcResult result = mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 7)
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"imported\":1,\"failed\":0,\"errors\":[]}"));
+
+        assertEquals(body, RECEIVED.get("body"));
+        assertEquals("text/csv", RECEIVED.get("content-type").split(";")[0]);
+        assertEquals("7", RECEIVED.get("user"));
+        assertEquals("chunked", RECEIVED.get("transfer-encoding"));
+    }
+
+    @Test
+    void importRejectsUnsupportedContentType() throws Exception {
+        mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 7)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/items/import", exchange -> {
+                try (InputStream in = exchange.getRequestBody()) {
+                    RECEIVED.put("body", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                RECEIVED.put("content-type", exchange.getRequestHeaders().getFirst("Content-Type"));
+                RECEIVED.put("user", exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+                RECEIVED.put("transfer-encoding",
+                        String.valueOf(exchange.getRequestHeaders().getFirst("Transfer-Encoding")));
+                byte[] report = "{\"imported\":1,\"failed\":0,\"errors\":[],\"errorsTruncated\":false}"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, report.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(report);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
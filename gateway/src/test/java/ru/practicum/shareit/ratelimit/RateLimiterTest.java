@@ -0,0 +1,75 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final RateLimitProperties properties = properties();
+    private final RateLimiter rateLimiter = new RateLimiter(properties, clock::get);
+
+    @Test
+    void userBudgetsAreSeparateForReadsAndWritesAndRefillOverTime() {
+        assertEquals(0, rateLimiter.tryAcquire(1, false));
+        assertEquals(0, rateLimiter.tryAcquire(1, false));
+        assertEquals(500_000_000, rateLimiter.tryAcquire(1, false));
+        assertEquals(0, rateLimiter.tryAcquire(1, true));
+        assertTrue(rateLimiter.tryAcquire(1, true) > 0);
+        assertEquals(0, rateLimiter.tryAcquire(2, false));
+
+        clock.addAndGet(500_000_000);
+
+        assertEquals(0, rateLimiter.tryAcquire(1, false));
+        assertTrue(rateLimiter.tryAcquire(1, false) > 0);
+    }
+
+    @Test
+    void filterRejectsWithRetryAfterWhenBudgetOrInFlightCapIsExhausted() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, new SimpleMeterRegistry());
+
+        assertEquals(200, filter(filter, "POST", "7").getStatus());
+        MockHttpServletResponse rejected = filter(filter, "POST", "7");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertTrue(rateLimiter.tryEnter());
+        assertEquals(429, filter(filter, "GET", null).getStatus());
+        assertEquals(429, filter(filter, "GET", "8").getStatus());
+        rateLimiter.exit();
+        assertEquals(200, filter(filter, "GET", null).getStatus());
+        assertEquals(0, rateLimiter.inFlight());
+        assertEquals(200, filter(filter, "GET", "8").getStatus());
+        assertEquals(200, filter(filter, "GET", "8").getStatus());
+    }
+
+    private static MockHttpServletResponse filter(RateLimitFilter filter, String method, String userId)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/items");
+        if (userId != null) {
+            request.addHeader(RateLimitFilter.USER_HEADER, userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setReadsPerSecond(2);
+        properties.setReadBurst(2);
+        properties.setWritesPerSecond(1);
+        properties.setWriteBurst(1);
+        properties.setMaxInFlight(1);
+        properties.setStripes(4);
+        return properties;
+    }
+}
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.web.ETags;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -30,9 +36,10 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public BookingResponseDto getById(@RequestHeader(USER_HEADER) long userId,
-                                      @PathVariable Long bookingId) {
-        return BookingMapper.toBookingDto(bookingService.getById(userId, bookingId));
+    public ResponseEntity<BookingResponseDto> getById(@RequestHeader(USER_HEADER) long userId,
+                                                      @PathVariable Long bookingId, WebRequest request) {
+        Booking booking = bookingService.getById(userId, bookingId);
+        return ETags.ok(request, BookingMapper.eTag(booking), () -> BookingMapper.toBookingDto(booking));
     }
 
     @GetMapping
@@ -41,8 +48,7 @@ public class BookingController {
                                                     defaultValue = "ALL") String state,
                                             @RequestParam(defaultValue = "0") int from,
                                             @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getAll(userId, state, from, size)
-                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return bookingService.getAll(userId, state, from, size);
     }
 
     @GetMapping("/owner")
@@ -51,7 +57,24 @@ public class BookingController {
                                                                  defaultValue = "ALL") String state,
                                                          @RequestParam(defaultValue = "0") int from,
                                                          @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getAllBookingByOwner(userId, state, from, size)
-                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return bookingService.getAllBookingByOwner(userId, state, from, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(USER_HEADER) long userId,
+                                                        @RequestParam(value = "state", required = false,
+                                                                defaultValue = "ALL") String state,
+                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+        StateStatus stateStatus = bookingService.checkExport(userId, state);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(out -> bookingService.export(userId, stateStatus, from, to, exportFormat, out));
     }
 }
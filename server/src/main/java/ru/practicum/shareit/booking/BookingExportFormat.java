@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.UnsupportedStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public enum BookingExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")) {
+        @Override
+        public void write(Stream<BookingResponseDto> bookings, OutputStream out, ObjectMapper objectMapper)
+                throws IOException {
+            ObjectWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n");
+            JsonGenerator generator = writer.createGenerator(out);
+            Iterator<BookingResponseDto> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+            }
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+    },
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)) {
+        @Override
+        public void write(Stream<BookingResponseDto> bookings, OutputStream out, ObjectMapper objectMapper)
+                throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("id,start,end,status,item_id,item_name,booker_id,booker_name,booker_email\n");
+            Iterator<BookingResponseDto> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, iterator.next());
+            }
+            writer.flush();
+        }
+    };
+
+    private final MediaType mediaType;
+
+    BookingExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public abstract void write(Stream<BookingResponseDto> bookings, OutputStream out, ObjectMapper objectMapper)
+            throws IOException;
+
+    public static BookingExportFormat from(String format) {
+        for (BookingExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new UnsupportedStatusException("Unknown format: " + format);
+    }
+
+    private static void writeRow(Writer writer, BookingResponseDto booking) throws IOException {
+        writer.write(booking.getId() + "," + booking.getStartDate() + "," + booking.getEndDate() + ","
+                + booking.getStatus() + "," + booking.getItem().getId() + ","
+                + escape(booking.getItem().getName()) + "," + booking.getBooker().getId() + ","
+                + escape(booking.getBooker().getName()) + "," + escape(booking.getBooker().getEmail()) + "\n");
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -7,8 +7,18 @@ import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.web.ETags;
 
 public class BookingMapper {
+    public static String eTag(Booking booking) {
+        User booker = booking.getBooker();
+        Item item = booking.getItem();
+        return ETags.weak(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booker.getId(), booker.getName(), booker.getEmail(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getItemRequest() == null ? null : item.getItemRequest().getId());
+    }
+
     public static BookingResponseDto toBookingDto(Booking booking) {
         return BookingResponseDto.builder()
                 .id(booking.getId())
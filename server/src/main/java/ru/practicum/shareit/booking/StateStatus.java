@@ -1,10 +1,33 @@
 package ru.practicum.shareit.booking;
 
+import java.util.Optional;
+
 public enum StateStatus {
     ALL,
     CURRENT,
     PAST,
     FUTURE,
     WAITING,
-    REJECTED
+    REJECTED;
+
+    public static Optional<StateStatus> from(String state) {
+        if (state.isBlank()) {
+            return Optional.of(ALL);
+        }
+        switch (state.toUpperCase()) {
+            case "CURRENT":
+                return Optional.of(CURRENT);
+            case "PAST":
+                return Optional.of(PAST);
+            case "FUTURE":
+                return Optional.of(FUTURE);
+            case "WAITING":
+                return Optional.of(WAITING);
+            case "REJECTED":
+                return Optional.of(REJECTED);
+            case "ALL":
+                return Optional.of(ALL);
+        }
+        return Optional.empty();
+    }
 }
@@ -9,6 +9,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 
 @Getter
 @AllArgsConstructor
@@ -22,4 +23,12 @@ public class BookingResponseDto {
     @JsonProperty("end")
     private LocalDateTime endDate;
     private BookingStatus status;
-}
\ No newline at end of file
+
+    public BookingResponseDto(long id, long bookerId, String bookerName, String bookerEmail,
+                              long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                              Long requestId, LocalDateTime startDate, LocalDateTime endDate, BookingStatus status) {
+        this(id, new UserDto(bookerId, bookerName, bookerEmail),
+                new ItemDto(itemId, itemName, itemDescription, itemAvailable, requestId, Collections.emptyList()),
+                startDate, endDate, status);
+    }
+}
@@ -12,18 +12,25 @@ import java.util.Objects;
 @Setter
 @Entity
 @Table(name = "booking")
+@NamedEntityGraph(name = Booking.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("booker"),
+        @NamedAttributeNode(value = "item", subgraph = "item")
+}, subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 @RequiredArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Booking {
+    public static final String DETAIL_GRAPH = "Booking.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     @Column(name = "booking_id")
     private long id;
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
     @Column(name = "start_date")
@@ -1,39 +1,72 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Optional<List<Booking>> findAllByBooker_IdOrderByStartDesc(long bookerId, Pageable pageable);
+    String SELECT_RESPONSE_DTO = "select new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, bk.id, bk.name, bk.email, i.id, i.name, i.description, i.available, r.id, " +
+            "b.start, b.end, b.status) " +
+            "from Booking b join b.booker bk join b.item i left join i.itemRequest r ";
+    String ORDER_BY_START_DESC = " order by b.start desc";
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Override
+    @EntityGraph(Booking.DETAIL_GRAPH)
+    Optional<Booking> findById(Long id);
+
+    @Query(SELECT_RESPONSE_DTO + "where bk.id = ?1" + ORDER_BY_START_DESC)
+    Optional<List<BookingResponseDto>> findAllByBooker(long bookerId, Pageable pageable);
 
-    Optional<List<Booking>> findAllByBooker_IdAndStatusOrderByStartDesc(long bookerId, BookingStatus status, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where bk.id = ?1 and b.status = ?2" + ORDER_BY_START_DESC)
+    Optional<List<BookingResponseDto>> findAllByBookerAndStatus(long bookerId, BookingStatus status,
+                                                                Pageable pageable);
 
-    Optional<List<Booking>> findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(long bookerId,
-                                                                                        LocalDateTime start,
-                                                                                        LocalDateTime end, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where bk.id = ?1 and b.start < ?2 and b.end > ?2" + ORDER_BY_START_DESC)
+    Optional<List<BookingResponseDto>> findCurrentByBooker(long bookerId, LocalDateTime now, Pageable pageable);
 
-    Optional<List<Booking>> findAllByBooker_IdAndStartIsAfterOrderByStartDesc(long bookerId, LocalDateTime start, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where bk.id = ?1 and b.start > ?2" + ORDER_BY_START_DESC)
+    Optional<List<BookingResponseDto>> findFutureByBooker(long bookerId, LocalDateTime now, Pageable pageable);
 
-    Optional<List<Booking>> findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(long bookerId, LocalDateTime end, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where bk.id = ?1 and b.end < ?2" + ORDER_BY_START_DESC)
+    Optional<List<BookingResponseDto>> findPastByBooker(long bookerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByItem_IdOrderByStartDesc(long itemId, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where i.owner.id = ?1" + ORDER_BY_START_DESC)
+    List<BookingResponseDto> findAllByOwner(long ownerId, Pageable pageable);
 
+    @Query(SELECT_RESPONSE_DTO + "where i.owner.id = ?1 and b.status = ?2" + ORDER_BY_START_DESC)
+    List<BookingResponseDto> findAllByOwnerAndStatus(long ownerId, BookingStatus status, Pageable pageable);
 
-    List<Booking> findAllByItem_IdAndStatusOrderByStartDesc(long itemId, BookingStatus status, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where i.owner.id = ?1 and b.start < ?2 and b.end > ?2" + ORDER_BY_START_DESC)
+    List<BookingResponseDto> findCurrentByOwner(long ownerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByItem_IdAndStartBeforeAndEndAfterOrderByStartDesc(long itemId,
-                                                                            LocalDateTime start,
-                                                                            LocalDateTime end, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where i.owner.id = ?1 and b.start > ?2" + ORDER_BY_START_DESC)
+    List<BookingResponseDto> findFutureByOwner(long ownerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByItem_IdAndStartIsAfterOrderByStartDesc(long itemId, LocalDateTime start, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "where i.owner.id = ?1 and b.end < ?2" + ORDER_BY_START_DESC)
+    List<BookingResponseDto> findPastByOwner(long ownerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByItem_IdAndEndIsBeforeOrderByStartDesc(long itemId, LocalDateTime end, Pageable pageable);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_RESPONSE_DTO + "where i.owner.id = ?1 and b.status in ?2 " +
+            "and b.start >= ?3 and b.start < ?4 and b.end > ?5 and b.end < ?6" + ORDER_BY_START_DESC)
+    Stream<BookingResponseDto> streamAllByOwner(long ownerId, Collection<BookingStatus> statuses,
+                                                LocalDateTime startFrom, LocalDateTime startTo,
+                                                LocalDateTime endFrom, LocalDateTime endTo);
 
     boolean existsBookingByBooker_IdAndItem_IdAndStatusEqualsAndEndIsBefore(long bookerId, long itemId,
                                                                             BookingStatus status, LocalDateTime end);
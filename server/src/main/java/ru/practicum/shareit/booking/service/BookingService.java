@@ -1,9 +1,15 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.BookingExportFormat;
+import ru.practicum.shareit.booking.StateStatus;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +20,14 @@ public interface BookingService {
 
     Booking getById(Long userId, Long bookingId);
 
-    List<Booking> getAll(Long userId, String state, int from, int size);
+    List<BookingResponseDto> getAll(Long userId, String state, int from, int size);
 
-    List<Booking> getAllBookingByOwner(Long userId, String state, int from, int size);
+    List<BookingResponseDto> getAllBookingByOwner(Long userId, String state, int from, int size);
+
+    StateStatus checkExport(Long userId, String state);
+
+    void export(Long userId, StateStatus state, LocalDateTime from, LocalDateTime to,
+                BookingExportFormat format, OutputStream out) throws IOException;
 
     Optional<Booking> getLastBooking(long itemId);
 
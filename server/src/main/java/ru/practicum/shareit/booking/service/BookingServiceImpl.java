@@ -1,51 +1,74 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingExportFormat;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.StateStatus;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.event.BookingCreated;
+import ru.practicum.shareit.event.BookingStatusChanged;
+import ru.practicum.shareit.event.OutboxPublisher;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.web.LongRunning;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final LocalDateTime EXPORT_MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime EXPORT_MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
+    @Transactional
     public Booking add(Long userId, BookingRequestDto bookingRequestDto) {
         checkInputBookingDto(userId, bookingRequestDto);
         bookingRequestDto.setStatus(BookingStatus.WAITING);
         checkItemAvailable(itemRepository.findById(bookingRequestDto.getItemId()).orElseThrow(() ->
                 new NoSuchElementException("Item By id not found")));
-        return bookingRepository.save(BookingMapper.toBooking(bookingRequestDto, userRepository.findById(userId).orElseThrow(() ->
+        Booking booking = bookingRepository.save(BookingMapper.toBooking(bookingRequestDto,
+                userRepository.findById(userId).orElseThrow(() ->
                         new NoSuchElementException("UserNotFound By id not found")),
                 itemRepository.findById(bookingRequestDto.getItemId()).orElseThrow(() ->
                         new NoSuchElementException("Item By id not found"))));
+        outboxPublisher.publish(BookingCreated.of(booking));
+        return booking;
     }
 
     @Override
+    @Transactional
     public Booking bookingConfirmation(Long userId, Long bookingId, boolean approved) {
         Booking booking = getBooking(bookingId);
         if (booking.getStatus() == BookingStatus.APPROVED) {
@@ -63,10 +86,13 @@ public class BookingServiceImpl implements BookingService {
             throw new NoSuchElementException("User does not own this item");
         }
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        outboxPublisher.publish(BookingStatusChanged.of(saved));
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Booking getById(Long userId, Long bookingId) {
         Booking booking = getBooking(bookingId);
         if (checkOwner(userId, booking) || booking.getBooker().getId() == userId) {
@@ -77,63 +103,57 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> getAll(Long userId, String state, int from, int size) {
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getAll(Long userId, String state, int from, int size) {
         userRepository.findById(userId).orElseThrow(() ->
                 new NoSuchElementException("User By id " + userId + " not found"));
 
         int page = from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.by("start").descending());
+        Pageable pageable = PageRequest.of(page, size);
 
-        switch (checkStatus(state).orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state))) {
+        switch (StateStatus.from(state).orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state))) {
             case CURRENT:
-                return new ArrayList<>(bookingRepository
-                        .findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(userId, LocalDateTime.now(),
-                                LocalDateTime.now(), pageable)
+                return bookingRepository.findCurrentByBooker(userId, LocalDateTime.now(), pageable)
                         .orElseThrow(() -> new NoSuchElementException("Current bookings for user "
-                                + userId + " not found")));
+                                + userId + " not found"));
             case PAST:
-                return new ArrayList<>(bookingRepository.findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(userId,
-                                LocalDateTime.now(), pageable)
+                return bookingRepository.findPastByBooker(userId, LocalDateTime.now(), pageable)
                         .orElseThrow(() -> new NoSuchElementException("Past bookings for user "
-                                + userId + " not found")));
+                                + userId + " not found"));
             case FUTURE:
-                return new ArrayList<>(bookingRepository.findAllByBooker_IdAndStartIsAfterOrderByStartDesc(userId,
-                                LocalDateTime.now(), pageable)
+                return bookingRepository.findFutureByBooker(userId, LocalDateTime.now(), pageable)
                         .orElseThrow(() -> new NoSuchElementException("Future bookings for user "
-                                + userId + " not found")));
+                                + userId + " not found"));
             case WAITING:
-                return new ArrayList<>(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(userId,
-                                BookingStatus.WAITING, pageable)
+                return bookingRepository.findAllByBookerAndStatus(userId, BookingStatus.WAITING, pageable)
                         .orElseThrow(() -> new NoSuchElementException("Waiting bookings for user  " +
-                                userId + " not found")));
+                                userId + " not found"));
             case REJECTED:
-                return new ArrayList<>(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(userId,
-                                BookingStatus.REJECTED, pageable)
+                return bookingRepository.findAllByBookerAndStatus(userId, BookingStatus.REJECTED, pageable)
                         .orElseThrow(() -> new NoSuchElementException("Rejected bookings for user "
-                                + userId + " not found")));
+                                + userId + " not found"));
             default:
-                return new ArrayList<>(bookingRepository.findAllByBooker_IdOrderByStartDesc(userId, pageable)
+                return bookingRepository.findAllByBooker(userId, pageable)
                         .orElseThrow(() -> new NoSuchElementException("Bookings for user "
-                                + userId + " not found")));
+                                + userId + " not found"));
         }
     }
 
     @Override
-    public List<Booking> getAllBookingByOwner(Long userId, String state, int from, int size) {
-        List<Item> items = itemRepository.findByOwner(userRepository.findById(userId).orElseThrow(() ->
-                new NoSuchElementException("UserNotFound By id not found")));
-        if (items.size() == 0) {
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getAllBookingByOwner(Long userId, String state, int from, int size) {
+        userRepository.findById(userId).orElseThrow(() ->
+                new NoSuchElementException("UserNotFound By id not found"));
+        if (!itemRepository.existsByOwnerId(userId)) {
             throw new NoSuchElementException("User " + userId + " does not own any items");
         }
         int page = from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.by("start").descending());
-        List<Booking> bookings = new ArrayList<>();
+        Pageable pageable = PageRequest.of(page, size);
+        List<BookingResponseDto> bookings;
 
-        switch (checkStatus(state).orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state))) {
+        switch (StateStatus.from(state).orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state))) {
             case CURRENT:
-                items.forEach(item -> bookings.addAll(bookingRepository
-                        .findAllByItem_IdAndStartBeforeAndEndAfterOrderByStartDesc(item.getId(), LocalDateTime.now(),
-                                LocalDateTime.now(), pageable)));
+                bookings = bookingRepository.findCurrentByOwner(userId, LocalDateTime.now(), pageable);
                 if (bookings.size() != 0) {
                     return bookings;
                 } else {
@@ -141,8 +161,7 @@ public class BookingServiceImpl implements BookingService {
                             + userId + " not found");
                 }
             case PAST:
-                items.forEach(item -> bookings.addAll(bookingRepository
-                        .findAllByItem_IdAndEndIsBeforeOrderByStartDesc(item.getId(), LocalDateTime.now(), pageable)));
+                bookings = bookingRepository.findPastByOwner(userId, LocalDateTime.now(), pageable);
                 if (bookings.size() != 0) {
                     return bookings;
                 } else {
@@ -150,8 +169,7 @@ public class BookingServiceImpl implements BookingService {
                             + userId + " not found");
                 }
             case FUTURE:
-                items.forEach(item -> bookings.addAll(bookingRepository
-                        .findAllByItem_IdAndStartIsAfterOrderByStartDesc(item.getId(), LocalDateTime.now(), pageable)));
+                bookings = bookingRepository.findFutureByOwner(userId, LocalDateTime.now(), pageable);
                 if (bookings.size() != 0) {
                     return bookings;
                 } else {
@@ -159,8 +177,7 @@ public class BookingServiceImpl implements BookingService {
                             + userId + " not found");
                 }
             case WAITING:
-                items.forEach(item -> bookings.addAll(bookingRepository
-                        .findAllByItem_IdAndStatusOrderByStartDesc(item.getId(), BookingStatus.WAITING, pageable)));
+                bookings = bookingRepository.findAllByOwnerAndStatus(userId, BookingStatus.WAITING, pageable);
                 if (bookings.size() != 0) {
                     return bookings;
                 } else {
@@ -168,8 +185,7 @@ public class BookingServiceImpl implements BookingService {
                             userId + " not found");
                 }
             case REJECTED:
-                items.forEach(item -> bookings.addAll(bookingRepository
-                        .findAllByItem_IdAndStatusOrderByStartDesc(item.getId(), BookingStatus.REJECTED, pageable)));
+                bookings = bookingRepository.findAllByOwnerAndStatus(userId, BookingStatus.REJECTED, pageable);
                 if (bookings.size() != 0) {
                     return bookings;
                 } else {
@@ -177,8 +193,7 @@ public class BookingServiceImpl implements BookingService {
                             + userId + " not found");
                 }
             default:
-                items.forEach(item -> bookings.addAll(bookingRepository
-                        .findAllByItem_IdOrderByStartDesc(item.getId(), pageable)));
+                bookings = bookingRepository.findAllByOwner(userId, pageable);
                 if (bookings.size() != 0) {
                     return bookings;
                 } else {
@@ -189,23 +204,82 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public StateStatus checkExport(Long userId, String state) {
+        userRepository.findById(userId).orElseThrow(() ->
+                new NoSuchElementException("UserNotFound By id not found"));
+        if (!itemRepository.existsByOwnerId(userId)) {
+            throw new NoSuchElementException("User " + userId + " does not own any items");
+        }
+        return StateStatus.from(state).orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state));
+    }
+
+    @Override
+    @LongRunning
+    @Transactional(readOnly = true)
+    public void export(Long userId, StateStatus state, LocalDateTime from, LocalDateTime to,
+                       BookingExportFormat format, OutputStream out) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        Collection<BookingStatus> statuses = EnumSet.allOf(BookingStatus.class);
+        LocalDateTime startFrom = from != null ? from : EXPORT_MIN_DATE;
+        LocalDateTime startTo = to != null ? to : EXPORT_MAX_DATE;
+        LocalDateTime endFrom = EXPORT_MIN_DATE;
+        LocalDateTime endTo = EXPORT_MAX_DATE;
+        switch (state) {
+            case CURRENT:
+                startTo = min(startTo, now);
+                endFrom = now;
+                break;
+            case PAST:
+                endTo = now;
+                break;
+            case FUTURE:
+                startFrom = max(startFrom, now);
+                break;
+            case WAITING:
+                statuses = EnumSet.of(BookingStatus.WAITING);
+                break;
+            case REJECTED:
+                statuses = EnumSet.of(BookingStatus.REJECTED);
+                break;
+            default:
+                break;
+        }
+        try (Stream<BookingResponseDto> bookings = bookingRepository.streamAllByOwner(userId, statuses,
+                startFrom, startTo, endFrom, endTo)) {
+            format.write(bookings, out, objectMapper);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Booking> getLastBooking(long itemId) {
         return bookingRepository.findFirstBookingByItem_IdAndEndIsBeforeOrderByEndDesc(itemId,
                 LocalDateTime.now());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Booking> getNextBooking(long itemId) {
         return bookingRepository.findFirstBookingByItem_IdAndStartIsAfterOrderByStart(itemId,
                 LocalDateTime.now());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean checkBooking(long userId, long itemId, BookingStatus status) {
         return bookingRepository.existsBookingByBooker_IdAndItem_IdAndStatusEqualsAndEndIsBefore(userId,
                 itemId, status, LocalDateTime.now());
     }
 
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
     private Booking getBooking(Long bookingId) {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NoSuchElementException("Booking with id: "
@@ -235,25 +309,4 @@ public class BookingServiceImpl implements BookingService {
                     + bookingRequestDto.getItemId());
         }
     }
-
-    private Optional<StateStatus> checkStatus(String state) {
-        if (state.isBlank()) {
-            return Optional.of(StateStatus.ALL);
-        }
-        switch (state.toUpperCase()) {
-            case "CURRENT":
-                return Optional.of(StateStatus.CURRENT);
-            case "PAST":
-                return Optional.of(StateStatus.PAST);
-            case "FUTURE":
-                return Optional.of(StateStatus.FUTURE);
-            case "WAITING":
-                return Optional.of(StateStatus.WAITING);
-            case "REJECTED":
-                return Optional.of(StateStatus.REJECTED);
-            case "ALL":
-                return Optional.of(StateStatus.ALL);
-        }
-        return Optional.empty();
-    }
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCreated implements DomainEvent {
+    private long bookingId;
+    private long itemId;
+    private long bookerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    public static BookingCreated of(Booking booking) {
+        return new BookingCreated(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd());
+    }
+
+    @Override
+    public String getAggregateType() {
+        return "booking";
+    }
+
+    @Override
+    public long getAggregateId() {
+        return bookingId;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusChanged implements DomainEvent {
+    private long bookingId;
+    private long itemId;
+    private BookingStatus status;
+
+    public static BookingStatusChanged of(Booking booking) {
+        return new BookingStatusChanged(booking.getId(), booking.getItem().getId(), booking.getStatus());
+    }
+
+    @Override
+    public String getAggregateType() {
+        return "booking";
+    }
+
+    @Override
+    public long getAggregateId() {
+        return bookingId;
+    }
+}
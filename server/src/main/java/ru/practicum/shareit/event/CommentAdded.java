@@ -0,0 +1,29 @@
+package ru.practicum.shareit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.comment.Comment;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentAdded implements DomainEvent {
+    private long commentId;
+    private long itemId;
+    private long authorId;
+
+    public static CommentAdded of(Comment comment) {
+        return new CommentAdded(comment.getId(), comment.getItem().getId(), comment.getAuthor().getId());
+    }
+
+    @Override
+    public String getAggregateType() {
+        return "item";
+    }
+
+    @Override
+    public long getAggregateId() {
+        return itemId;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public interface DomainEvent {
+    Map<String, Class<? extends DomainEvent>> TYPES = Stream.of(BookingCreated.class, BookingStatusChanged.class,
+                    ItemChanged.class, CommentAdded.class)
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    @JsonIgnore
+    String getAggregateType();
+
+    @JsonIgnore
+    long getAggregateId();
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.event;
+
+/**
+ * Receives domain events after they are committed. Delivery is at least once and in order per aggregate,
+ * so handlers must tolerate seeing the same event again.
+ */
+public interface DomainEventSubscriber<E extends DomainEvent> {
+    Class<E> eventType();
+
+    void on(E event);
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.event;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class EventBus {
+    private final List<DomainEventSubscriber<?>> subscribers;
+
+    public EventBus(ObjectProvider<DomainEventSubscriber<?>> subscribers) {
+        this.subscribers = subscribers.orderedStream().collect(Collectors.toList());
+    }
+
+    public void deliver(DomainEvent event) {
+        for (DomainEventSubscriber<?> subscriber : subscribers) {
+            deliver(subscriber, event);
+        }
+    }
+
+    private static <E extends DomainEvent> void deliver(DomainEventSubscriber<E> subscriber, DomainEvent event) {
+        if (subscriber.eventType().isInstance(event)) {
+            subscriber.on(subscriber.eventType().cast(event));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChanged implements DomainEvent {
+    private long itemId;
+    private long ownerId;
+    private Change change;
+
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Override
+    public String getAggregateType() {
+        return "item";
+    }
+
+    @Override
+    public long getAggregateId() {
+        return itemId;
+    }
+}
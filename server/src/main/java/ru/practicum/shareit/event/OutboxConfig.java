@@ -0,0 +1,34 @@
+package ru.practicum.shareit.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService outboxScheduler(OutboxDispatcher dispatcher, OutboxProperties properties) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                dispatcher.drain();
+            } catch (RuntimeException e) {
+                log.warn("Outbox drain failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+}
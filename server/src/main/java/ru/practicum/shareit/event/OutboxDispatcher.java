@@ -0,0 +1,192 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drains the outbox in the order the database numbered the rows on insert. Events of an aggregate whose earlier
+ * event failed stay in the outbox until the next drain, so each aggregate sees its events in the order they were
+ * written. Only the instance holding the outbox lease drains, so instances never deliver the same rows concurrently.
+ * <p>
+ * The sequence number is assigned when the row is inserted, not when its transaction commits, so a later number can
+ * become visible first. Publishing transactions take no lock on the aggregate row, so nothing orders two writers of
+ * the same aggregate. Rows younger than {@code visibilityDelay} are therefore left for a later drain. Ordering holds
+ * as long as publishing transactions commit within that delay.
+ * <p>
+ * An event that fails {@code maxAttempts} times is parked: it stays in the table for inspection and is no longer
+ * retried. By default a parked event keeps blocking the later events of its aggregate until an operator deletes or
+ * unparks it; with {@code parkingReleasesAggregate} those events are delivered without it.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxDispatcher {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final OutboxRepository outboxRepository;
+    private final OutboxLeaseRepository leaseRepository;
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final MeterRegistry registry;
+    private final Counter delivered;
+    private final Counter failures;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldest = new AtomicReference<>();
+
+    public OutboxDispatcher(OutboxRepository outboxRepository, OutboxLeaseRepository leaseRepository,
+                            EventBus eventBus, ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                            OutboxProperties properties, MeterRegistry registry) {
+        this.outboxRepository = outboxRepository;
+        this.leaseRepository = leaseRepository;
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.registry = registry;
+        delivered = Counter.builder("shareit.outbox.delivered")
+                .description("Outbox events delivered to subscribers")
+                .register(registry);
+        failures = Counter.builder("shareit.outbox.failures")
+                .description("Outbox deliveries that failed")
+                .register(registry);
+        Gauge.builder("shareit.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events left after the last drain")
+                .register(registry);
+        Gauge.builder("shareit.outbox.parked", parked, AtomicLong::get)
+                .description("Outbox events parked after exhausting their delivery attempts")
+                .register(registry);
+        Gauge.builder("shareit.outbox.oldest.age", oldest, OutboxDispatcher::ageSeconds)
+                .description("Age in seconds of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public synchronized int drain() {
+        if (!acquireLease()) {
+            return 0;
+        }
+        Set<String> blocked = new HashSet<>();
+        if (!properties.isParkingReleasesAggregate()) {
+            transactionTemplate.execute(status -> outboxRepository.findByParkedTrue())
+                    .forEach(event -> blocked.add(aggregate(event)));
+        }
+        LocalDateTime visibleBefore = LocalDateTime.now().minus(properties.getVisibilityDelay());
+        int count = 0;
+        long after = 0;
+        List<OutboxEvent> page;
+        do {
+            long from = after;
+            page = transactionTemplate.execute(status -> outboxRepository
+                    .findByParkedFalseAndSequenceNumberGreaterThanAndCreatedBeforeOrderBySequenceNumber(from,
+                            visibleBefore, PageRequest.of(0, properties.getBatchSize())));
+            List<Long> done = new ArrayList<>(page.size());
+            for (OutboxEvent event : page) {
+                String aggregate = aggregate(event);
+                if (blocked.contains(aggregate)) {
+                    continue;
+                }
+                try {
+                    eventBus.deliver(read(event));
+                    done.add(event.getId());
+                    recordLag(event);
+                } catch (RuntimeException | IOException e) {
+                    blocked.add(aggregate);
+                    failures.increment();
+                    fail(event, aggregate, e);
+                }
+            }
+            if (!done.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteAllByIdInBatch(done));
+                delivered.increment(done.size());
+                count += done.size();
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getSequenceNumber();
+            }
+        } while (page.size() == properties.getBatchSize() && acquireLease());
+        transactionTemplate.executeWithoutResult(status -> {
+            pending.set(outboxRepository.countByParked(false));
+            parked.set(outboxRepository.countByParked(true));
+            oldest.set(outboxRepository.findFirstByParkedFalseOrderBySequenceNumber()
+                    .map(OutboxEvent::getCreated)
+                    .orElse(null));
+        });
+        return count;
+    }
+
+    /**
+     * Takes or renews the lease; fails while another instance holds an unexpired one.
+     */
+    private boolean acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                leaseRepository.acquire(instanceId, now.plus(properties.getLease()), now));
+        return acquired != null && acquired == 1;
+    }
+
+    private void fail(OutboxEvent event, String aggregate, Exception e) {
+        int attempt = event.getAttempts() + 1;
+        String error = truncate(e.toString());
+        if (attempt >= properties.getMaxAttempts()) {
+            log.error("Parking outbox event {} ({} {}) after {} failed attempts", event.getId(),
+                    event.getEventType(), aggregate, attempt, e);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.park(event.getId(), error));
+        } else {
+            log.warn("Delivery of outbox event {} ({} {}) failed, attempt {}", event.getId(),
+                    event.getEventType(), aggregate, attempt, e);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.recordFailure(event.getId(), error));
+        }
+    }
+
+    private static String aggregate(OutboxEvent event) {
+        return event.getAggregateType() + ":" + event.getAggregateId();
+    }
+
+    private DomainEvent read(OutboxEvent event) throws IOException {
+        Class<? extends DomainEvent> type = DomainEvent.TYPES.get(event.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown event type " + event.getEventType());
+        }
+        return objectMapper.readValue(event.getPayload(), type);
+    }
+
+    private void recordLag(OutboxEvent event) {
+        Timer.builder("shareit.outbox.lag")
+                .description("Time from writing an event to the outbox until its delivery")
+                .tag("type", event.getEventType())
+                .register(registry)
+                .record(Duration.between(event.getCreated(), LocalDateTime.now()));
+    }
+
+    private static double ageSeconds(AtomicReference<LocalDateTime> oldest) {
+        LocalDateTime created = oldest.get();
+        return created == null ? 0 : Duration.between(created, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
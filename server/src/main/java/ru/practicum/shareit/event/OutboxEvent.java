@@ -0,0 +1,40 @@
+package ru.practicum.shareit.event;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    @Column(name = "event_id", nullable = false)
+    private long id;
+    @Column(name = "aggregate_type")
+    private String aggregateType;
+    @Column(name = "aggregate_id")
+    private long aggregateId;
+    @Column(name = "event_type")
+    private String eventType;
+    @Column(name = "payload")
+    private String payload;
+    @Column(name = "created")
+    private LocalDateTime created;
+    @Column(name = "sequence_number", insertable = false, updatable = false)
+    private long sequenceNumber;
+    @Column(name = "attempts")
+    private int attempts;
+    @Column(name = "last_error")
+    private String lastError;
+    @Column(name = "parked")
+    private boolean parked;
+}
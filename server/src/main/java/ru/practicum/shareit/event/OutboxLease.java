@@ -0,0 +1,31 @@
+package ru.practicum.shareit.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * The single row that decides which server instance drains the outbox until the lease expires.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_lease")
+public class OutboxLease {
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "lease_id", nullable = false)
+    private int id;
+    @Column(name = "holder")
+    private String holder;
+    @Column(name = "expires")
+    private LocalDateTime expires;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface OutboxLeaseRepository extends JpaRepository<OutboxLease, Integer> {
+
+    @Modifying
+    @Query("update OutboxLease l set l.holder = ?1, l.expires = ?2 "
+            + "where l.id = " + OutboxLease.ID + " and (l.holder = ?1 or l.expires < ?3)")
+    int acquire(String holder, LocalDateTime expires, LocalDateTime now);
+}
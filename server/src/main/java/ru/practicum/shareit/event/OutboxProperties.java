@@ -0,0 +1,20 @@
+package ru.practicum.shareit.event;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.outbox")
+public class OutboxProperties {
+    private boolean enabled = true;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private int batchSize = 100;
+    private int maxAttempts = 10;
+    private Duration lease = Duration.ofSeconds(30);
+    private Duration visibilityDelay = Duration.ofSeconds(1);
+    private boolean parkingReleasesAggregate = false;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.event;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByParkedFalseAndSequenceNumberGreaterThanAndCreatedBeforeOrderBySequenceNumber(
+            long sequenceNumber, LocalDateTime created, Pageable pageable);
+
+    List<OutboxEvent> findByParkedTrue();
+
+    Optional<OutboxEvent> findFirstByParkedFalseOrderBySequenceNumber();
+
+    long countByParked(boolean parked);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.lastError = ?2 where e.id = ?1")
+    int recordFailure(long id, String error);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.lastError = ?2, e.parked = true where e.id = ?1")
+    int park(long id, String error);
+}
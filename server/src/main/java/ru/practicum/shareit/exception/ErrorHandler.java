@@ -4,32 +4,36 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.nio.charset.StandardCharsets;
 import java.util.NoSuchElementException;
 
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     @ExceptionHandler
     public ResponseEntity<String> handleValidationException(NoSuchElementException e) {
         log.error(e.getMessage());
-        return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        return message(e, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleNotExistException(AlreadyExistException e) {
         log.error(e.getMessage());
-        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        return message(e, HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleItemNotAvailableException(ItemNotAvailableException e) {
         log.error(e.getMessage());
-        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        return message(e, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(UnsupportedStatusException.class)
@@ -39,6 +43,12 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    private static ResponseEntity<String> message(RuntimeException e, HttpStatus status) {
+        return ResponseEntity.status(status)
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(e.getMessage());
+    }
+
     @Getter
     @Setter
     public static class ErrorResponse {
@@ -1,13 +1,22 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForBooking;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.web.ETags;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +32,13 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ItemImportResult importItems(@RequestHeader(USER_HEADER) long userId,
+                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                        InputStream body) throws IOException {
+        return itemService.importItems(userId, ItemImportFormat.from(MediaType.parseMediaType(contentType)), body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader(USER_HEADER) long userId, @PathVariable long itemId,
                           @RequestBody ItemDto itemDto) {
@@ -30,8 +46,10 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ItemDtoForBooking getById(@RequestHeader(USER_HEADER) long userId, @PathVariable long id) {
-        return ItemMapper.toItemDtoWithBooking(itemService.getById(id, userId));
+    public ResponseEntity<ItemDtoForBooking> getById(@RequestHeader(USER_HEADER) long userId, @PathVariable long id,
+                                                     WebRequest request) {
+        Item item = itemService.getById(id, userId);
+        return ETags.ok(request, ItemMapper.eTag(item), () -> ItemMapper.toItemDtoWithBooking(item));
     }
 
     @GetMapping("/search")
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.UnsupportedStatusException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public enum ItemImportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), false) {
+        @Override
+        public RowParser parser(String header, ObjectMapper objectMapper) {
+            ObjectReader trees = objectMapper.reader().with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+            ObjectReader items = objectMapper.readerFor(ItemDto.class);
+            return line -> {
+                try {
+                    JsonNode row = trees.readTree(line);
+                    if (row == null || !row.isObject()) {
+                        throw new IllegalArgumentException("Row must be a JSON object");
+                    }
+                    return items.readValue(row);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+        }
+    },
+    CSV(new MediaType("text", "csv"), true) {
+        @Override
+        public RowParser parser(String header, ObjectMapper objectMapper) {
+            List<String> columns = Arrays.asList(split(header.toLowerCase(Locale.ROOT)));
+            int name = column(columns, "name", true);
+            int description = column(columns, "description", true);
+            int available = column(columns, "available", true);
+            int requestId = column(columns, "requestid", false);
+            return line -> {
+                String[] values = split(line);
+                if (values.length != columns.size()) {
+                    throw new IllegalArgumentException("Expected " + columns.size() + " columns but got "
+                            + values.length);
+                }
+                return ItemDto.builder()
+                        .name(values[name])
+                        .description(values[description])
+                        .available(parseBoolean(values[available]))
+                        .requestId(requestId >= 0 ? parseId(values[requestId]) : null)
+                        .build();
+            };
+        }
+
+        @Override
+        public boolean togglesQuotedValue(String line) {
+            return line.chars().filter(c -> c == '"').count() % 2 != 0;
+        }
+    };
+
+    private final MediaType mediaType;
+    private final boolean header;
+
+    ItemImportFormat(MediaType mediaType, boolean header) {
+        this.mediaType = mediaType;
+        this.header = header;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public boolean hasHeader() {
+        return header;
+    }
+
+    public abstract RowParser parser(String header, ObjectMapper objectMapper);
+
+    /**
+     * Whether the line opens or closes a quoted value, so a record that is left inside quotes continues on the next
+     * line. Escaped quotes come in pairs and do not change the result.
+     */
+    public boolean togglesQuotedValue(String line) {
+        return false;
+    }
+
+    public static ItemImportFormat from(MediaType contentType) {
+        for (ItemImportFormat value : values()) {
+            if (value.mediaType.isCompatibleWith(contentType)) {
+                return value;
+            }
+        }
+        throw new UnsupportedStatusException("Unsupported import format: " + contentType);
+    }
+
+    private static int column(List<String> columns, String name, boolean required) {
+        int index = columns.indexOf(name);
+        if (index < 0 && required) {
+            throw new UnsupportedStatusException("CSV header must contain column: " + name);
+        }
+        return index;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("available must be true or false but was " + value);
+        }
+        return Boolean.valueOf(value);
+    }
+
+    private static Long parseId(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("requestId must be a number but was " + value);
+        }
+    }
+
+    private static String[] split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    public interface RowParser {
+        ItemDto parse(String line);
+    }
+}
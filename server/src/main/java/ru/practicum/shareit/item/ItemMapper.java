@@ -1,16 +1,38 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForBooking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.web.ETags;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class ItemMapper {
+    public static String eTag(Item item) {
+        List<Object> fields = new ArrayList<>(Arrays.asList(
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable()));
+        if (item.getComments() != null) {
+            for (Comment comment : item.getComments()) {
+                fields.addAll(Arrays.asList(
+                        comment.getId(), comment.getText(), comment.getAuthor().getName(), comment.getCreated()));
+            }
+        }
+        for (Booking booking : Arrays.asList(item.getLastBooking(), item.getNextBooking())) {
+            fields.addAll(booking == null ? Collections.singletonList(null) : Arrays.asList(
+                    booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd()));
+        }
+        return ETags.weak(fields.toArray());
+    }
+
     public static ItemDto toItemDto(Item item) {
         Long id = null;
         ItemRequest request = item.getItemRequest();
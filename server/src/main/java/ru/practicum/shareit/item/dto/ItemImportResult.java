@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ItemImportResult {
+    private long imported;
+    private long failed;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -4,12 +4,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwner(User owner);
+    boolean existsByOwnerId(long ownerId);
 
     @Query(" select i from Item i " +
             "where lower(i.name) like lower(concat('%', ?1, '%')) " +
@@ -20,4 +20,6 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerId(long userId, Pageable pageable);
 
     List<Item> findAllByItemRequestId(Long itemRequestId);
+
+    List<Item> findAllByItemRequestIdIn(Collection<Long> itemRequestIds);
 }
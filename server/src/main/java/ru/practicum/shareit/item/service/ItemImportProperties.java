@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.item-import")
+public class ItemImportProperties {
+    private int batchSize = 500;
+    private int maxErrors = 1000;
+}
@@ -0,0 +1,224 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.event.ItemChanged;
+import ru.practicum.shareit.event.OutboxPublisher;
+import ru.practicum.shareit.item.ItemImportFormat;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.requests.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ItemImportProperties.class)
+public class ItemImporter {
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_DESCRIPTION_LENGTH = 200;
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxPublisher outboxPublisher;
+    private final ItemImportProperties properties;
+
+    public ItemImportResult importItems(long userId, ItemImportFormat format, InputStream body) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User not found");
+        }
+        Import run = new Import(userId);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        ItemImportFormat.RowParser parser = format.hasHeader() ? null : format.parser(null, objectMapper);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            long recordLine = lineNumber;
+            boolean quoted = format.togglesQuotedValue(line);
+            if (quoted) {
+                StringBuilder record = new StringBuilder(line);
+                String next;
+                while (quoted && record.length() <= MAX_RECORD_LENGTH && (next = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(next);
+                    quoted ^= format.togglesQuotedValue(next);
+                }
+                line = record.toString();
+            }
+            if (parser == null) {
+                parser = format.parser(line, objectMapper);
+                continue;
+            }
+            try {
+                run.add(recordLine, validate(parser.parse(line)));
+            } catch (IllegalArgumentException e) {
+                run.fail(recordLine, e.getMessage());
+            }
+        }
+        run.flush();
+        log.info("Imported {} items for user {}, {} rows failed", run.imported, userId, run.failed);
+        return ItemImportResult.builder()
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    private static ItemDto validate(ItemDto item) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            throw new IllegalArgumentException("name must not be blank");
+        }
+        if (item.getName().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("name must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        if (item.getDescription() == null || item.getDescription().isBlank()) {
+            throw new IllegalArgumentException("description must not be blank");
+        }
+        if (item.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("description must be at most " + MAX_DESCRIPTION_LENGTH
+                    + " characters");
+        }
+        if (item.getAvailable() == null) {
+            throw new IllegalArgumentException("available must not be null");
+        }
+        return item;
+    }
+
+    private class Import {
+        private final long userId;
+        private final List<Long> lines = new ArrayList<>();
+        private final List<ItemDto> batch = new ArrayList<>();
+        private final Map<Long, Boolean> requests = new HashMap<>();
+        private final List<ItemImportResult.RowError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        Import(long userId) {
+            this.userId = userId;
+        }
+
+        void add(long line, ItemDto item) {
+            lines.add(line);
+            batch.add(item);
+            if (batch.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < properties.getMaxErrors()) {
+                errors.add(new ItemImportResult.RowError(line, message));
+            }
+        }
+
+        /**
+         * Saves the batch in one transaction. If the database rejects it, every row is retried in its own
+         * transaction so one bad row costs only its own report entry, not the other rows of the batch.
+         */
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            prefetchRequests();
+            List<Integer> rows = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                Long requestId = batch.get(i).getRequestId();
+                if (requestId != null && !requests.get(requestId)) {
+                    fail(lines.get(i), "Request " + requestId + " not found");
+                } else {
+                    rows.add(i);
+                }
+            }
+            try {
+                save(rows);
+            } catch (DataAccessException | PersistenceException e) {
+                log.warn("Batch of {} items for user {} rejected, retrying row by row: {}", rows.size(), userId,
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                for (int row : rows) {
+                    try {
+                        save(List.of(row));
+                    } catch (DataAccessException | PersistenceException rowFailure) {
+                        fail(lines.get(row), "Rejected by the database");
+                    }
+                }
+            }
+            lines.clear();
+            batch.clear();
+        }
+
+        private void save(List<Integer> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                User owner = entityManager.getReference(User.class, userId);
+                List<Item> items = new ArrayList<>(rows.size());
+                for (int row : rows) {
+                    Item item = ItemMapper.toItem(owner, batch.get(row));
+                    item.setId(0);
+                    Long requestId = batch.get(row).getRequestId();
+                    if (requestId != null) {
+                        item.setItemRequest(entityManager.getReference(ItemRequest.class, requestId));
+                    }
+                    items.add(item);
+                }
+                itemRepository.saveAll(items);
+                items.forEach(item -> outboxPublisher.publish(
+                        new ItemChanged(item.getId(), userId, ItemChanged.Change.CREATED)));
+                entityManager.flush();
+                entityManager.clear();
+            });
+            imported += rows.size();
+        }
+
+        private void prefetchRequests() {
+            Set<Long> unknown = batch.stream()
+                    .map(ItemDto::getRequestId)
+                    .filter(Objects::nonNull)
+                    .filter(id -> !requests.containsKey(id))
+                    .collect(Collectors.toSet());
+            if (unknown.isEmpty()) {
+                return;
+            }
+            unknown.forEach(id -> requests.put(id, false));
+            itemRequestRepository.findAllById(unknown).forEach(request -> requests.put(request.getId(), true));
+        }
+    }
+}
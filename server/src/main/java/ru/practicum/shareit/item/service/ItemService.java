@@ -1,10 +1,14 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.ItemImportFormat;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.model.Item;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 public interface ItemService {
@@ -22,4 +26,6 @@ public interface ItemService {
 
     List<Item> findAll(long userId, int from, int size);
 
+    ItemImportResult importItems(long userId, ItemImportFormat format, InputStream body) throws IOException;
+
 }
@@ -1,29 +1,40 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.event.CommentAdded;
+import ru.practicum.shareit.event.ItemChanged;
+import ru.practicum.shareit.event.OutboxPublisher;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
+import ru.practicum.shareit.item.ItemImportFormat;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.web.LongRunning;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 @Slf4j
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
@@ -32,8 +43,11 @@ public class ItemServiceImpl implements ItemService {
     private final BookingService bookingService;
     private final CommentRepository commentsRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemImporter itemImporter;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
+    @Transactional
     public ItemDto create(long userId, ItemDto itemDto) {
         User owner = userRepository.findById(userId).orElseThrow(() ->
                 new NoSuchElementException("User not found"));
@@ -44,19 +58,25 @@ public class ItemServiceImpl implements ItemService {
             item.setItemRequest(itemRequestRepository.findById(requestId)
                     .orElseThrow(() -> new NoSuchElementException("Incorrect RequestId")));
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        outboxPublisher.publish(new ItemChanged(saved.getId(), userId, ItemChanged.Change.CREATED));
+        return ItemMapper.toItemDto(saved);
     }
 
     @Override
+    @Transactional
     public Item update(long userId, long itemId, ItemDto itemDto) {
         User user = userRepository.findById(userId).orElseThrow(() ->
                 new NoSuchElementException("User not found"));
         Item item = ItemMapper.toItem(user, itemDto);
         checkOwner(userId, itemId);
-        return itemRepository.save(getValidItemDto(userId, itemId, item));
+        Item saved = itemRepository.save(getValidItemDto(userId, itemId, item));
+        outboxPublisher.publish(new ItemChanged(itemId, userId, ItemChanged.Change.UPDATED));
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Item getById(long id, long userId) {
         Item item = itemRepository.findById(id).orElseThrow(() ->
                 new NoSuchElementException("Item By id " + id + " not found"));
@@ -69,6 +89,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Item> searchByText(String text, int from, int size) {
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size);
@@ -78,6 +99,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Item> findAll(long userId, int from, int size) {
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size);
@@ -87,17 +109,29 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @LongRunning
+    public ItemImportResult importItems(long userId, ItemImportFormat format, InputStream body) throws IOException {
+        return itemImporter.importItems(userId, format, body);
+    }
+
+    @Override
+    @Transactional
     public void delete(long userId, long itemId) {
         checkOwner(userId, itemId);
         itemRepository.deleteById(itemId);
+        outboxPublisher.publish(new ItemChanged(itemId, userId, ItemChanged.Change.DELETED));
     }
 
     @Override
+    @Transactional
     public Comment addComment(long userId, long itemId, CommentDto commentDto) {
         if (bookingService.checkBooking(userId, itemId, BookingStatus.APPROVED)) {
-            return commentsRepository.save(CommentMapper.toComment(commentDto, userRepository.findById(userId).orElseThrow(() ->
+            Comment comment = commentsRepository.save(CommentMapper.toComment(commentDto,
+                    userRepository.findById(userId).orElseThrow(() ->
                             new NoSuchElementException("User not found")),
                     getById(itemId, userId)));
+            outboxPublisher.publish(CommentAdded.of(comment));
+            return comment;
         } else {
             throw new ItemNotAvailableException("User " + userId + " has no booking for " + itemId + " item");
         }
@@ -128,15 +162,12 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void itemSetCommentsAndBookings(Item item) {
-        if (!commentsRepository.findAllByItem_Id(item.getId()).isEmpty()) {
-            item.setComments(new ArrayList<>(commentsRepository.findAllByItem_Id(item.getId())));
-        }
-        if (bookingService.getLastBooking(item.getId()).isPresent()) {
-            item.setLastBooking(bookingService.getLastBooking(item.getId()).get());
-        }
-        if (bookingService.getNextBooking(item.getId()).isPresent()) {
-            item.setNextBooking(bookingService.getNextBooking(item.getId()).get());
+        List<Comment> comments = commentsRepository.findAllByItem_Id(item.getId());
+        if (!comments.isEmpty()) {
+            item.setComments(new ArrayList<>(comments));
         }
+        bookingService.getLastBooking(item.getId()).ifPresent(item::setLastBooking);
+        bookingService.getNextBooking(item.getId()).ifPresent(item::setNextBooking);
     }
 
 }
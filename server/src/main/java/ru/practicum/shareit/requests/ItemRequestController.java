@@ -1,11 +1,16 @@
 package ru.practicum.shareit.requests;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.requests.service.ItemRequestService;
+import ru.practicum.shareit.web.ETags;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -30,13 +35,22 @@ public class ItemRequestController {
     @GetMapping("/all")
     public List<ItemRequestResponseDto> findAllWithPageable(@RequestHeader(USER_HEADER) long userId,
                                                             @RequestParam(defaultValue = "0") int from,
-                                                            @RequestParam(defaultValue = "20") int size) {
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime afterCreated,
+                                                            @RequestParam(required = false) Long afterId) {
+        if (afterCreated != null && afterId != null) {
+            return service.findAllAfter(userId, afterCreated, afterId, size);
+        }
         return service.findAllWithPageable(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestResponseDto findByRequestId(@RequestHeader(USER_HEADER) long userId,
-                                                  @PathVariable long requestId) {
-        return service.findById(userId, requestId);
+    public ResponseEntity<ItemRequestResponseDto> findByRequestId(@RequestHeader(USER_HEADER) long userId,
+                                                                  @PathVariable long requestId,
+                                                                  WebRequest request) {
+        ItemRequestResponseDto response = service.findById(userId, requestId);
+        return ETags.ok(request, ItemRequestMapper.eTag(response), () -> response);
     }
 }
\ No newline at end of file
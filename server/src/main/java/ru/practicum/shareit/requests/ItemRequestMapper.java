@@ -4,11 +4,23 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.web.ETags;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class ItemRequestMapper {
+    public static String eTag(ItemRequestResponseDto response) {
+        List<Object> fields = new ArrayList<>(Arrays.asList(
+                response.getId(), response.getDescription(), response.getCreated()));
+        for (ItemDto item : response.getItems()) {
+            fields.addAll(Arrays.asList(
+                    item.getId(), item.getName(), item.getDescription(), item.getAvailable(), item.getRequestId()));
+        }
+        return ETags.weak(fields.toArray());
+    }
 
     public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
         return ItemRequestDto.builder()
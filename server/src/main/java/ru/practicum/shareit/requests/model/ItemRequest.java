@@ -15,12 +15,13 @@ import java.time.LocalDateTime;
 @Table(name = "requests", schema = "public")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     @Column(name = "request_id")
     private Long id;
     @Column(name = "description", nullable = false)
     private String description;
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "requestor_id")
     private User requestor;
     @Column(name = "created")
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.requests.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.requests.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
@@ -11,4 +14,12 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAll();
 
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1 order by r.created, r.id")
+    List<ItemRequest> findAllByRequestorIdNot(long userId, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1 " +
+            "and (r.created > ?2 or (r.created = ?2 and r.id > ?3)) " +
+            "order by r.created, r.id")
+    List<ItemRequest> findAllByRequestorIdNotAfter(long userId, LocalDateTime created, long id, Pageable pageable);
+
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.requests.service;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.dto.ItemRequestResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestService {
@@ -14,4 +15,6 @@ public interface ItemRequestService {
 
     List<ItemRequestResponseDto> findAllWithPageable(long userId, int from, int size);
 
+    List<ItemRequestResponseDto> findAllAfter(long userId, LocalDateTime created, long id, int size);
+
 }
@@ -1,12 +1,13 @@
 package ru.practicum.shareit.requests.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.ItemRequestMapper;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
@@ -15,12 +16,18 @@ import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
@@ -29,6 +36,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRepository itemRepository;
 
     @Override
+    @Transactional
     public ItemRequestDto save(ItemRequestDto itemRequestDto, long userId) {
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto);
         itemRequest.setRequestor(userRepository.findById(userId)
@@ -37,18 +45,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestResponseDto> findAll(long userId) {
         userRepository.findById(userId).orElseThrow(() ->
                 new NoSuchElementException("Пользователя с Id = " + userId + " нет в БД"));
-        List<ItemRequestResponseDto> response = new ArrayList<>();
-        for (ItemRequest itemRequest : itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId)) {
-            response.add(ItemRequestMapper
-                    .toItemRequestResponseDto(itemRequest, findByItemRequestId(itemRequest.getId())));
-        }
-        return response;
+        return toResponseDtos(itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestResponseDto findById(long userId, long itemRequestId) {
         userRepository.findById(userId).orElseThrow(() ->
                 new NoSuchElementException("Пользователя с Id = " + userId + " нет в БД"));
@@ -59,27 +64,48 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestResponseDto> findAllWithPageable(long userId, int from, int size) {
         int page = from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.by("created"));
         userRepository.findById(userId).orElseThrow(() ->
                 new NoSuchElementException("Пользователя с Id = " + userId + " нет в БД"));
+        return toResponseDtos(itemRequestRepository.findAllByRequestorIdNot(userId, PageRequest.of(page, size)));
+    }
 
-        List<ItemRequestResponseDto> response = new ArrayList<>();
-
-        List<ItemRequest> itemRequests = itemRequestRepository.findAll(pageable)
-                .stream()
-                .filter(itemRequest -> itemRequest.getRequestor().getId() != userId)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestResponseDto> findAllAfter(long userId, LocalDateTime created, long id, int size) {
+        userRepository.findById(userId).orElseThrow(() ->
+                new NoSuchElementException("Пользователя с Id = " + userId + " нет в БД"));
+        return toResponseDtos(itemRequestRepository
+                .findAllByRequestorIdNotAfter(userId, created, id, PageRequest.of(0, size)));
+    }
 
+    private List<ItemRequestResponseDto> toResponseDtos(List<ItemRequest> itemRequests) {
+        Map<Long, List<ItemDto>> itemsByRequestId = findByItemRequestIds(itemRequests);
+        List<ItemRequestResponseDto> response = new ArrayList<>(itemRequests.size());
         for (ItemRequest itemRequest : itemRequests) {
-            response.add(ItemRequestMapper
-                    .toItemRequestResponseDto(itemRequest, findByItemRequestId(itemRequest.getId())));
+            response.add(ItemRequestMapper.toItemRequestResponseDto(itemRequest,
+                    itemsByRequestId.getOrDefault(itemRequest.getId(), Collections.emptyList())));
         }
-
         return response;
     }
 
+    private Map<Long, List<ItemDto>> findByItemRequestIds(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Long> ids = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<ItemDto>> itemsByRequestId = new HashMap<>(ids.size() * 2);
+        for (Item item : itemRepository.findAllByItemRequestIdIn(ids)) {
+            itemsByRequestId.computeIfAbsent(item.getItemRequest().getId(), id -> new ArrayList<>())
+                    .add(ItemMapper.toItemDto(item));
+        }
+        return itemsByRequestId;
+    }
+
     private List<ItemDto> findByItemRequestId(long id) {
         return itemRepository.findAllByItemRequestId(id)
                 .stream()
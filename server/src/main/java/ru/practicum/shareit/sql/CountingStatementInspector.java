@@ -0,0 +1,12 @@
+package ru.practicum.shareit.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementCounter.record(sql);
+        return sql;
+    }
+}
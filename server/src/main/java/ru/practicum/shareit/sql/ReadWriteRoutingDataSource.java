@@ -0,0 +1,56 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Sends connections opened inside a read-only transaction to the replica and everything else to the primary.
+ * Physical connections are fetched lazily on the first statement, after the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        Router router = new Router();
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    public static String currentRoute() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : new DataSource[]{primary, replica}) {
+            if (dataSource instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) dataSource).close();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to close " + dataSource, e);
+                }
+            }
+        }
+    }
+
+    private static class Router extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return currentRoute();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SlowQuery {
+    private final String sql;
+    private final List<String> binds;
+    private final long durationMicros;
+    private final String caller;
+    private final Instant executedAt;
+}
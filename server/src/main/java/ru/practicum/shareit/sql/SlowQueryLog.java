@@ -0,0 +1,114 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+public class SlowQueryLog {
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final String SQL_PACKAGE = SlowQueryLog.class.getPackageName() + ".";
+    private static final StackWalker STACK = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final int MAX_ATTEMPTS = 8;
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<Entry> slots;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.slots = new AtomicReferenceArray<>(properties.getCapacity());
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    public void record(String sql, Object[] binds, long nanos) {
+        Entry entry = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int fastest = 0;
+            Entry fastestEntry = slots.get(0);
+            for (int i = 0; i < slots.length() && fastestEntry != null; i++) {
+                Entry candidate = slots.get(i);
+                if (candidate == null || candidate.nanos < fastestEntry.nanos) {
+                    fastest = i;
+                    fastestEntry = candidate;
+                }
+            }
+            if (fastestEntry != null && fastestEntry.nanos >= nanos) {
+                return;
+            }
+            if (entry == null) {
+                entry = new Entry(sql, binds, nanos, caller(), Instant.now());
+            }
+            if (slots.compareAndSet(fastest, fastestEntry, entry)) {
+                return;
+            }
+        }
+    }
+
+    public List<SlowQuery> slowest() {
+        List<SlowQuery> queries = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            Entry entry = slots.get(i);
+            if (entry != null) {
+                queries.add(entry.toSlowQuery());
+            }
+        }
+        queries.sort(Comparator.comparingLong(SlowQuery::getDurationMicros).reversed());
+        return queries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    static String caller() {
+        return STACK.walk(frames -> {
+            String service = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (Proxy.isProxyClass(type)) {
+                    for (Class<?> contract : type.getInterfaces()) {
+                        if (Repository.class.isAssignableFrom(contract)) {
+                            return contract.getSimpleName() + "." + frame.getMethodName();
+                        }
+                    }
+                } else if (service == null && type.getName().startsWith(APPLICATION_PACKAGE)
+                        && !type.getName().startsWith(SQL_PACKAGE)) {
+                    service = type.getSimpleName() + "." + frame.getMethodName();
+                }
+            }
+            return service != null ? service : "unknown";
+        });
+    }
+
+    private static class Entry {
+        private final String sql;
+        private final Object[] binds;
+        private final long nanos;
+        private final String caller;
+        private final Instant executedAt;
+
+        Entry(String sql, Object[] binds, long nanos, String caller, Instant executedAt) {
+            this.sql = sql;
+            this.binds = binds;
+            this.nanos = nanos;
+            this.caller = caller;
+            this.executedAt = executedAt;
+        }
+
+        SlowQuery toSlowQuery() {
+            return new SlowQuery(sql, Arrays.stream(binds).map(String::valueOf).collect(Collectors.toList()),
+                    TimeUnit.NANOSECONDS.toMicros(nanos), caller, executedAt);
+        }
+    }
+}
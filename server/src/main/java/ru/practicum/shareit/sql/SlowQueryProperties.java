@@ -0,0 +1,16 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.slow-query")
+public class SlowQueryProperties {
+    private boolean enabled;
+    private Duration threshold = Duration.ofMillis(100);
+    private int capacity = 50;
+}
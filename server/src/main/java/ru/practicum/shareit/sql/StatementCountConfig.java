@@ -0,0 +1,32 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(StatementCountProperties.class)
+@ConditionalOnProperty(name = "shareit.statement-count.enabled", havingValue = "true")
+public class StatementCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(StatementCountProperties properties,
+                                                                          MeterRegistry registry) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(properties, registry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 110);
+        registration.addUrlPatterns("/bookings/*", "/items/*", "/requests/*", "/users/*");
+        return registration;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.slo.Routes;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements of each request. The {@value #HEADER} header can only carry the statements executed
+ * before the first byte of the body; the full count, including lazy loads during serialization and streamed
+ * bodies, goes to the {@value #METRIC} summary and the log.
+ */
+@Slf4j
+public class StatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Query-Count";
+    public static final String METRIC = "shareit.sql.statements";
+    static final String OTHER_ROUTE = "other";
+    private final StatementCountProperties properties;
+    private final MeterRegistry registry;
+
+    public StatementCountFilter(StatementCountProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            HttpServletResponse counted = properties.isHeader() ? new CountingResponse(response, recording) : response;
+            chain.doFilter(request, counted);
+            if (properties.isHeader() && !response.isCommitted()) {
+                response.setIntHeader(HEADER, recording.getCount());
+            }
+            String route = Routes.of(request.getRequestURI());
+            DistributionSummary.builder(METRIC)
+                    .tag("route", Routes.ALL.contains(route) ? route : OTHER_ROUTE)
+                    .register(registry)
+                    .record(recording.getCount());
+            if (recording.getCount() > properties.getLogThreshold()) {
+                log.warn("{} {} executed {} SQL statements, repeated: {}", request.getMethod(),
+                        request.getRequestURI(), recording.getCount(), recording.repeated().entrySet().stream()
+                                .map(statement -> statement.getValue() + "x " + statement.getKey())
+                                .collect(Collectors.joining("; ")));
+            }
+        }
+    }
+
+    private static class CountingResponse extends HttpServletResponseWrapper {
+        private final StatementCounter.Recording recording;
+
+        CountingResponse(HttpServletResponse response, StatementCounter.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setCount();
+            return super.getWriter();
+        }
+
+        private void setCount() {
+            if (!isCommitted()) {
+                setIntHeader(HEADER, recording.getCount());
+            }
+        }
+    }
+}
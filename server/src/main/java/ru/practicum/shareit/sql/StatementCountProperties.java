@@ -0,0 +1,14 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.statement-count")
+public class StatementCountProperties {
+    private boolean enabled;
+    private int logThreshold = 10;
+    private boolean header;
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class StatementCounter {
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    static void record(String sql) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.add(sql);
+        }
+    }
+
+    public static class Recording implements AutoCloseable {
+        private final Recording previous;
+        private final Map<String, Integer> statements = new LinkedHashMap<>();
+        private int count;
+
+        private Recording(Recording previous) {
+            this.previous = previous;
+        }
+
+        private void add(String sql) {
+            count++;
+            statements.merge(sql, 1, Integer::sum);
+            if (previous != null) {
+                previous.add(sql);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Map<String, Integer> repeated() {
+            return statements.entrySet().stream()
+                    .filter(statement -> statement.getValue() > 1)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a,
+                            LinkedHashMap::new));
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Times every executed statement and hands the slow ones to the {@link SlowQueryLog}. Closing it closes the
+ * wrapped pool, so the context still shuts the pool down after the wrapper replaced it as the bean.
+ */
+public class TimedDataSource extends DelegatingDataSource implements Closeable {
+    private static final Object[] NO_BINDS = new Object[0];
+    private static final Constructor<?> CONNECTION = proxyConstructor(Connection.class);
+    private static final Constructor<?> STATEMENT = proxyConstructor(Statement.class);
+    private static final Constructor<?> PREPARED_STATEMENT = proxyConstructor(PreparedStatement.class);
+    private static final Constructor<?> CALLABLE_STATEMENT = proxyConstructor(CallableStatement.class);
+    private final SlowQueryLog slowQueryLog;
+
+    public TimedDataSource(DataSource dataSource, SlowQueryLog slowQueryLog) {
+        super(dataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        DataSource dataSource = getTargetDataSource();
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close " + dataSource, e);
+            }
+        }
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) newProxy(CONNECTION, new ConnectionHandler(connection));
+    }
+
+    private static Constructor<?> proxyConstructor(Class<?> type) {
+        try {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> null)
+                    .getClass()
+                    .getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object newProxy(Constructor<?> constructor, InvocationHandler handler) {
+        try {
+            return constructor.newInstance(handler);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedDataSource.invoke(connection, proxy, method, args);
+            if (!(result instanceof Statement)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            Constructor<?> constructor = result instanceof CallableStatement ? CALLABLE_STATEMENT
+                    : result instanceof PreparedStatement ? PREPARED_STATEMENT
+                    : STATEMENT;
+            return newProxy(constructor, new StatementHandler((Statement) result, (Connection) proxy, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final Connection connection;
+        private final String sql;
+        private Object[] binds = NO_BINDS;
+        private int bindCount;
+
+        StatementHandler(Statement statement, Connection connection, String sql) {
+            this.statement = statement;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long started = System.nanoTime();
+                try {
+                    return TimedDataSource.invoke(statement, proxy, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    if (slowQueryLog.isSlow(elapsed)) {
+                        slowQueryLog.record(sql != null ? sql : String.valueOf(args != null ? args[0] : null),
+                                Arrays.copyOf(binds, bindCount), elapsed);
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bind((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                bindCount = 0;
+            } else if ("getConnection".equals(name)) {
+                return connection;
+            }
+            return TimedDataSource.invoke(statement, proxy, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            binds[index - 1] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+    }
+}
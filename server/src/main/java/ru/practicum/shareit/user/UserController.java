@@ -1,10 +1,13 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.web.ETags;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,8 +26,9 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public UserDto getById(@PathVariable long id) {
-        return UserMapper.toUserDto(userService.getById(id));
+    public ResponseEntity<UserDto> getById(@PathVariable long id, WebRequest request) {
+        User user = userService.getById(id);
+        return ETags.ok(request, UserMapper.eTag(user), () -> UserMapper.toUserDto(user));
     }
 
     @PostMapping
@@ -2,8 +2,13 @@ package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.web.ETags;
 
 public class UserMapper {
+    public static String eTag(User user) {
+        return ETags.weak(user.getId(), user.getName(), user.getEmail());
+    }
+
     public static UserDto toUserDto(User user) {
         return UserDto.builder()
                 .id(user.getId())
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.AlreadyExistException;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -13,21 +15,25 @@ import java.util.NoSuchElementException;
 
 @RequiredArgsConstructor
 @Service
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAll() {
         return repository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getById(long id) {
         return repository.findById(id).orElseThrow(() ->
                 new NoSuchElementException("User By id + " + id + " not found"));
     }
 
     @Override
+    @Transactional
     public User create(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
         if (repository.findById(user.getId()).isPresent()) {
@@ -37,6 +43,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void remove(long id) {
         if (repository.findById(id).isPresent()) {
             repository.deleteById(id);
@@ -46,6 +53,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public User update(long userId, User user) {
         return repository.save(getValidUser(userId, user));
     }
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final ConcurrencyLimiter limiter;
+    private final Map<ConcurrencyLimiter.Lane, Counter> rejections = new EnumMap<>(ConcurrencyLimiter.Lane.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter limiter, MeterRegistry registry) {
+        this.limiter = limiter;
+        for (ConcurrencyLimiter.Lane lane : ConcurrencyLimiter.Lane.values()) {
+            String tag = lane.name().toLowerCase();
+            rejections.put(lane, Counter.builder("shareit.server.concurrency.rejected")
+                    .description("Requests shed because the adaptive concurrency limit was reached")
+                    .tag("lane", tag)
+                    .register(registry));
+            Gauge.builder("shareit.server.concurrency.in.flight", limiter, l -> l.inFlight(lane))
+                    .description("Requests currently admitted by the concurrency limiter")
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+        Gauge.builder("shareit.server.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConcurrencyLimiter.Lane lane = lane(request);
+        if (!limiter.tryAcquire(lane)) {
+            rejections.get(lane).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is overloaded\"}");
+            return;
+        }
+        AdmittedRequest admitted = new AdmittedRequest(request, lane);
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(admitted, response);
+            failed = false;
+        } finally {
+            if (!admitted.asyncStarted) {
+                limiter.release(lane, failed ? 0 : System.nanoTime() - started);
+            }
+        }
+    }
+
+    private static ConcurrencyLimiter.Lane lane(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? ConcurrencyLimiter.Lane.READ
+                : ConcurrencyLimiter.Lane.WRITE;
+    }
+
+    private class AdmittedRequest extends HttpServletRequestWrapper implements AsyncListener {
+        private final ConcurrencyLimiter.Lane lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private boolean asyncStarted;
+
+        AdmittedRequest(HttpServletRequest request, ConcurrencyLimiter.Lane lane) {
+            super(request);
+            this.lane = lane;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            return holdPermit(super.startAsync());
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+            return holdPermit(super.startAsync(request, response));
+        }
+
+        private AsyncContext holdPermit(AsyncContext asyncContext) {
+            if (!asyncStarted) {
+                asyncStarted = true;
+                asyncContext.addListener(this);
+            }
+            return asyncContext;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(lane, 0);
+            }
+        }
+    }
+}
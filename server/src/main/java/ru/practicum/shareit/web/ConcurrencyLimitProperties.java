@@ -0,0 +1,19 @@
+package ru.practicum.shareit.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    private double rttTolerance = 1.5;
+    private double smoothing = 0.2;
+    private int longWindow = 600;
+    private double readShare = 0.75;
+}
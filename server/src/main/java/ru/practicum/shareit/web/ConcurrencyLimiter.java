@@ -0,0 +1,57 @@
+package ru.practicum.shareit.web;
+
+public class ConcurrencyLimiter {
+    private final GradientLimit limit;
+    private final double readShare;
+    private int reads;
+    private int writes;
+
+    public ConcurrencyLimiter(GradientLimit limit, double readShare) {
+        this.limit = limit;
+        this.readShare = readShare;
+    }
+
+    public synchronized boolean tryAcquire(Lane lane) {
+        int current = limit.getLimit();
+        if (reads + writes >= current) {
+            return false;
+        }
+        if (lane == Lane.READ) {
+            if (reads >= Math.max(1, (int) (current * readShare))) {
+                return false;
+            }
+            reads++;
+        } else {
+            writes++;
+        }
+        return true;
+    }
+
+    public void release(Lane lane, long rttNanos) {
+        int inFlight;
+        synchronized (this) {
+            inFlight = reads + writes;
+            if (lane == Lane.READ) {
+                reads--;
+            } else {
+                writes--;
+            }
+        }
+        if (rttNanos > 0) {
+            limit.onSample(rttNanos, inFlight);
+        }
+    }
+
+    public synchronized int inFlight(Lane lane) {
+        return lane == Lane.READ ? reads : writes;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public enum Lane {
+        READ,
+        WRITE
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.web;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Weak ETags derived from the loaded fields a response is built from, so a matching If-None-Match is answered
+ * before the body is mapped or serialized.
+ */
+public final class ETags {
+    private static final char SEPARATOR = '\u001f';
+    private static final char NULL = '\u0000';
+
+    private ETags() {
+    }
+
+    public static String weak(Object... fields) {
+        StringBuilder key = new StringBuilder();
+        for (Object field : fields) {
+            if (field == null) {
+                key.append(NULL);
+            } else {
+                key.append(field);
+            }
+            key.append(SEPARATOR);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns {@code null} once Spring has answered the request with 304, which tells MVC the response is complete.
+     */
+    public static <T> ResponseEntity<T> ok(WebRequest request, String eTag, Supplier<T> body) {
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(body.get());
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.web;
+
+/**
+ * Concurrency limit that follows the ratio between the long-term and the latest request latency:
+ * the limit shrinks as soon as requests get slower than usual and grows by a small queue allowance
+ * while latency stays flat.
+ */
+public class GradientLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private double limit;
+    private double longRtt;
+
+    public GradientLimit(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.rttTolerance = properties.getRttTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.longWindow = properties.getLongWindow();
+        this.limit = properties.getInitialLimit();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized void onSample(long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+        } else {
+            longRtt += (rttNanos - longRtt) / longWindow;
+        }
+        if (longRtt / rttNanos > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bulk operations whose duration scales with the payload; kept out of the shareit.service latency histogram
+ * and observed through http.server.requests for their own URI instead.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LongRunning {
+}
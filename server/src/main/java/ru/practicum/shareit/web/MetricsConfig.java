@@ -0,0 +1,54 @@
+package ru.practicum.shareit.web;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.slo.SloEndpoint;
+import ru.practicum.shareit.slo.SloProperties;
+import ru.practicum.shareit.slo.SloTracker;
+
+import java.util.function.Predicate;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        Predicate<ProceedingJoinPoint> longRunning = pjp -> ((MethodSignature) pjp.getSignature()).getMethod()
+                .isAnnotationPresent(LongRunning.class);
+        return new TimedAspect(registry, longRunning);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "shareit.slo")
+    public SloProperties sloProperties() {
+        return new SloProperties();
+    }
+
+    @Bean
+    public SloTracker sloTracker(SloProperties properties) {
+        return new SloTracker(properties);
+    }
+
+    @Bean
+    public SloEndpoint sloEndpoint(SloTracker tracker) {
+        return new SloEndpoint(tracker);
+    }
+
+    @Bean
+    public WebMvcConfigurer sloInterceptorConfigurer(SloTracker tracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new SloInterceptor(tracker))
+                        .addPathPatterns("/bookings/**", "/items/**", "/requests/**", "/users/**");
+            }
+        };
+    }
+}
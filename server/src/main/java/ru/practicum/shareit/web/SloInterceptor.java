@@ -0,0 +1,35 @@
+package ru.practicum.shareit.web;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import ru.practicum.shareit.slo.Routes;
+import ru.practicum.shareit.slo.SloTracker;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public class SloInterceptor implements AsyncHandlerInterceptor {
+    private static final String STARTED = SloInterceptor.class.getName() + ".started";
+    private final SloTracker tracker;
+
+    public SloInterceptor(SloTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STARTED) == null) {
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (started != null) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            tracker.record(Routes.of(path), System.nanoTime() - (long) started, ex != null || response.getStatus() >= 500);
+        }
+    }
+}
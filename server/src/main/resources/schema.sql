@@ -1,29 +1,46 @@
+DROP TABLE IF EXISTS outbox;
+DROP TABLE IF EXISTS outbox_lease;
 DROP TABLE IF EXISTS booking;
 DROP TABLE IF EXISTS comments;
 DROP TABLE IF EXISTS items;
 DROP TABLE IF EXISTS requests;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS booking_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS outbox_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id BIGINT NOT NULL,
     user_name VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (user_id),
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS requests
 (
-    request_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    request_id bigint PRIMARY KEY,
     description varchar(200),
     created timestamp WITHOUT TIME ZONE,
     requestor_id int REFERENCES users(user_id)
 );
 
+CREATE INDEX IF NOT EXISTS requests_created_id_idx ON requests (created, request_id);
+CREATE INDEX IF NOT EXISTS requests_requestor_idx ON requests (requestor_id, created);
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items
 (
-    item_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id bigint PRIMARY KEY,
     item_name varchar(100),
     description varchar(200),
     is_available boolean,
@@ -31,9 +48,11 @@ CREATE TABLE IF NOT EXISTS items
     request_id int REFERENCES requests(request_id)
 );
 
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS booking
 (
-    booking_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id bigint PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE,
     end_date TIMESTAMP WITHOUT TIME ZONE,
     item_id int REFERENCES items(item_id),
@@ -41,11 +60,38 @@ CREATE TABLE IF NOT EXISTS booking
     status varchar(20)
 );
 
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS comments
 (
-    comment_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    comment_id bigint PRIMARY KEY,
     text varchar(500),
     item_id int REFERENCES items(item_id),
     author_id int REFERENCES users(user_id),
     created_date TIMESTAMP WITHOUT TIME ZONE
-);
\ No newline at end of file
+);
+
+CREATE SEQUENCE IF NOT EXISTS outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox
+(
+    event_id bigint PRIMARY KEY,
+    aggregate_type varchar(50) NOT NULL,
+    aggregate_id bigint NOT NULL,
+    event_type varchar(100) NOT NULL,
+    payload varchar(4000) NOT NULL,
+    created timestamp WITHOUT TIME ZONE NOT NULL,
+    sequence_number bigint GENERATED ALWAYS AS IDENTITY,
+    attempts int NOT NULL DEFAULT 0,
+    last_error varchar(500),
+    parked boolean NOT NULL DEFAULT false
+);
+
+CREATE TABLE IF NOT EXISTS outbox_lease
+(
+    lease_id int PRIMARY KEY,
+    holder varchar(100),
+    expires timestamp WITHOUT TIME ZONE NOT NULL
+);
+
+INSERT INTO outbox_lease (lease_id, holder, expires) VALUES (1, NULL, TIMESTAMP '1970-01-01 00:00:00');
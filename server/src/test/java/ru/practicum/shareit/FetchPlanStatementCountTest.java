@@ -0,0 +1,116 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class FetchPlanStatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private final MockMvc mvc;
+    private final EntityManager entityManager;
+    private final LocalDateTime date = LocalDateTime.now();
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("Owner").email("owner@mail.ru").build());
+        booker = persist(User.builder().name("Booker").email("booker@mail.ru").build());
+        item = persist(Item.builder().name("Drill").description("Drill").available(true).owner(owner).build());
+        Item anotherItem = persist(Item.builder().name("Saw").description("Saw").available(true).owner(owner).build());
+        booking = persist(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(date.minusDays(2)).end(date.minusDays(1)).build());
+        persist(Booking.builder().item(anotherItem).booker(booker).status(BookingStatus.WAITING)
+                .start(date.plusDays(1)).end(date.plusDays(2)).build());
+        persist(Comment.builder().item(item).author(booker).text("Good").created(date).build());
+        User responder = persist(User.builder().name("Responder").email("responder@mail.ru").build());
+        for (int i = 0; i < 3; i++) {
+            ItemRequest itemRequest = persist(ItemRequest.builder().description("Ladder " + i).requestor(booker)
+                    .created(date.minusHours(i)).build());
+            persist(Item.builder().name("Ladder").description("Ladder").available(true).owner(responder)
+                    .itemRequest(itemRequest).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bookingListByBooker() throws Exception {
+        assertStatementCount(2, get("/bookings").header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void bookingListByOwner() throws Exception {
+        assertStatementCount(3, get("/bookings/owner").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void bookingDetail() throws Exception {
+        assertStatementCount(1, get("/bookings/{id}", booking.getId()).header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void itemDetail() throws Exception {
+        assertStatementCount(4, get("/items/{id}", item.getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void itemListByOwner() throws Exception {
+        assertStatementCount(7, get("/items").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void itemSearch() throws Exception {
+        assertStatementCount(1, get("/items/search").param("text", "drill"));
+    }
+
+    @Test
+    void itemRequestListByRequestor() throws Exception {
+        assertStatementCount(3, get("/requests").header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void itemRequestListDoesNotDependOnPageSize() throws Exception {
+        assertStatementCount(3, get("/requests/all").param("size", "1").header(USER_HEADER, owner.getId()));
+        entityManager.clear();
+        assertStatementCount(3, get("/requests/all").param("size", "20").header(USER_HEADER, owner.getId()));
+        entityManager.clear();
+        assertStatementCount(3, get("/requests/all").param("afterCreated", date.minusDays(1).toString())
+                .param("afterId", "0").param("size", "2").header(USER_HEADER, owner.getId()));
+    }
+
+    private void assertStatementCount(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.exactly(expected));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
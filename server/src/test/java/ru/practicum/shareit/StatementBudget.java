@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import ru.practicum.shareit.sql.StatementCountFilter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static ResultMatcher exactly(int expected) {
+        return result -> assertEquals(expected, count(result.getResponse().getHeader(StatementCountFilter.HEADER)),
+                "SQL statements executed by " + result.getRequest().getRequestURI());
+    }
+
+    public static ResultMatcher atMost(int budget) {
+        return result -> {
+            int count = count(result.getResponse().getHeader(StatementCountFilter.HEADER));
+            assertTrue(count <= budget, result.getRequest().getRequestURI() + " executed " + count
+                    + " SQL statements, budget is " + budget);
+        };
+    }
+
+    private static int count(String header) {
+        assertNotNull(header, "Response has no " + StatementCountFilter.HEADER + " header");
+        return Integer.parseInt(header);
+    }
+}
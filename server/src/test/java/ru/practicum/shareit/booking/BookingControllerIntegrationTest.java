@@ -1,12 +1,14 @@
 package ru.practicum.shareit.booking;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -20,13 +22,19 @@ import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 
 @Transactional
 @SpringBootTest(
@@ -38,6 +46,7 @@ public class BookingControllerIntegrationTest {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
     private final LocalDateTime date = LocalDateTime.now();
     private final User owner = User.builder()
             .id(1L)
@@ -124,11 +133,11 @@ public class BookingControllerIntegrationTest {
                 .itemId(createdAnotherItem.getId())
                 .build();
         Booking createdBooking2 = bookingService.add(bookerCreated.getId(), anotherBookingRequestDto);
-        List<Booking> bookings = bookingService.getAll(bookerCreated.getId(), "ALL", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAll(bookerCreated.getId(), "ALL", 0, 2);
 
         assertThat(bookings.size(), equalTo(2));
-        assertTrue(bookings.contains(createdBooking));
-        assertTrue(bookings.contains(createdBooking2));
+        assertThat(bookings.stream().map(BookingResponseDto::getId).collect(Collectors.toList()),
+                containsInAnyOrder(createdBooking.getId(), createdBooking2.getId()));
     }
 
     @Test
@@ -149,10 +158,65 @@ public class BookingControllerIntegrationTest {
                 .itemId(createdAnotherItem.getId())
                 .build();
         Booking createdBooking2 = bookingService.add(bookerCreated.getId(), anotherBookingRequestDto);
-        List<Booking> bookings = bookingService.getAllBookingByOwner(ownerCreated.getId(), "ALL", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(ownerCreated.getId(), "ALL", 0, 2);
 
         assertThat(bookings.size(), equalTo(2));
-        assertTrue(bookings.contains(createdBooking));
-        assertTrue(bookings.contains(createdBooking2));
+        assertThat(bookings.stream().map(BookingResponseDto::getId).collect(Collectors.toList()),
+                containsInAnyOrder(createdBooking.getId(), createdBooking2.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void exportByOwnerAsNdjson() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        User bookerCreated = userService.create(UserMapper.toUserDto(booker));
+        ItemDto createdItem = itemService.create(ownerCreated.getId(), ItemMapper.toItemDto(item));
+        Booking createdBooking = bookingService.add(bookerCreated.getId(), BookingRequestDto.builder()
+                .startDate(date.plusDays(1))
+                .endDate(date.plusDays(2))
+                .itemId(createdItem.getId())
+                .build());
+        Booking createdBooking2 = bookingService.add(bookerCreated.getId(), BookingRequestDto.builder()
+                .startDate(date.plusDays(3))
+                .endDate(date.plusDays(4))
+                .itemId(createdItem.getId())
+                .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StateStatus state = bookingService.checkExport(ownerCreated.getId(), "all");
+        bookingService.export(ownerCreated.getId(), state, null, null, BookingExportFormat.NDJSON, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines.length, equalTo(2));
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong(), equalTo(createdBooking2.getId()));
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong(), equalTo(createdBooking.getId()));
+        assertThat(objectMapper.readTree(lines[1]).get("booker").get("id").asLong(),
+                equalTo(bookerCreated.getId()));
+    }
+
+    @Test
+    public void exportByOwnerAsCsvWithFilters() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        User bookerCreated = userService.create(UserMapper.toUserDto(booker));
+        ItemDto createdItem = itemService.create(ownerCreated.getId(), ItemMapper.toItemDto(item));
+        bookingService.add(bookerCreated.getId(), BookingRequestDto.builder()
+                .startDate(date.plusDays(1))
+                .endDate(date.plusDays(2))
+                .itemId(createdItem.getId())
+                .build());
+        Booking laterBooking = bookingService.add(bookerCreated.getId(), BookingRequestDto.builder()
+                .startDate(date.plusDays(5))
+                .endDate(date.plusDays(6))
+                .itemId(createdItem.getId())
+                .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingService.export(ownerCreated.getId(), StateStatus.WAITING, date.plusDays(3), null,
+                BookingExportFormat.CSV, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines.length, equalTo(2));
+        assertThat(lines[0], startsWith("id,start,end,status"));
+        assertThat(lines[1], startsWith(laterBooking.getId() + ","));
+        assertThat(lines[1], containsString(",WAITING," + createdItem.getId() + ",ItemName,"));
+    }
+}
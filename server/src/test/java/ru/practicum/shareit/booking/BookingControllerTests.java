@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,6 +19,7 @@ import ru.practicum.shareit.exception.UnsupportedStatusException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,9 +27,14 @@ import java.util.NoSuchElementException;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -161,7 +168,7 @@ public class BookingControllerTests {
     @Test
     void getAllByBookerId() throws Exception {
         when(bookingService.getAll(booker.getId(), "ALL", 0, 10))
-                .thenReturn(List.of(booking, notApproveBooking));
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking), BookingMapper.toBookingDto(notApproveBooking)));
 
         mvc.perform(createRequestWithPagination(get("/bookings"),
                         booker.getId(),
@@ -190,7 +197,7 @@ public class BookingControllerTests {
     @Test
     void getAllByBookerIdWithoutParam() throws Exception {
         when(bookingService.getAll(booker.getId(), "ALL", 0, 20))
-                .thenReturn(List.of(booking, notApproveBooking));
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking), BookingMapper.toBookingDto(notApproveBooking)));
 
         mvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", booker.getId()))
@@ -213,7 +220,7 @@ public class BookingControllerTests {
     @Test
     void getAllByOwnerId() throws Exception {
         when(bookingService.getAllBookingByOwner(owner.getId(), "ALL", 0, 10))
-                .thenReturn(List.of(booking, notApproveBooking));
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking), BookingMapper.toBookingDto(notApproveBooking)));
 
         mvc.perform(createRequestWithPagination(get("/bookings/owner"),
                         owner.getId(),
@@ -238,7 +245,7 @@ public class BookingControllerTests {
     @Test
     void getAllByOwnerIdWithoutParam() throws Exception {
         when(bookingService.getAllBookingByOwner(owner.getId(), "ALL", 0, 20))
-                .thenReturn(List.of(booking, notApproveBooking));
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking), BookingMapper.toBookingDto(notApproveBooking)));
 
         mvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", owner.getId())
@@ -270,4 +277,37 @@ public class BookingControllerTests {
                 .param("from", from)
                 .param("size", size);
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportBookingsStreamsBody() throws Exception {
+        when(bookingService.checkExport(anyLong(), anyString())).thenReturn(StateStatus.PAST);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(5);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingService).export(anyLong(), any(), any(), any(), any(), any());
+
+        MvcResult result = mvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "past")
+                        .param("from", "2022-09-01T10:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+        verify(bookingService, times(1)).export(eq(1L), eq(StateStatus.PAST),
+                eq(LocalDateTime.of(2022, 9, 1, 10, 0)), isNull(), eq(BookingExportFormat.NDJSON), any());
+    }
+
+    @Test
+    void exportBookingsWithUnknownFormat() throws Exception {
+        mvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Unknown format: xml")));
+    }
+}
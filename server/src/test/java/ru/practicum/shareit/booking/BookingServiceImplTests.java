@@ -6,10 +6,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.event.OutboxPublisher;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 import ru.practicum.shareit.item.model.Item;
@@ -18,10 +20,12 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -68,13 +72,6 @@ public class BookingServiceImplTests {
             .booker(booker)
             .status(BookingStatus.WAITING)
             .build();
-    private final Item anotherItem = Item.builder()
-            .id(2L)
-            .name("ItemName2")
-            .description("ItemDesc2")
-            .owner(owner)
-            .available(false)
-            .build();
     @InjectMocks
     private BookingServiceImpl bookingService;
     @Mock
@@ -83,6 +80,8 @@ public class BookingServiceImplTests {
     private ItemRepository itemRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private OutboxPublisher outboxPublisher;
 
     @Test
     void addBooking() {
@@ -268,16 +267,16 @@ public class BookingServiceImplTests {
     @Test
     void getAllByBooker() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(Optional.of(List.of(booking, notApproveBooking)));
+        when(bookingRepository.findAllByBooker(anyLong(), any()))
+                .thenReturn(Optional.of(toDtos(booking, notApproveBooking)));
 
-        List<Booking> bookings = bookingService.getAll(2L, "ALL", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAll(2L, "ALL", 0, 2);
         assertNotEquals(bookings, null);
         assertEquals(bookings.size(), 2);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.APPROVED);
         assertEquals(bookings.get(1).getStatus(), BookingStatus.WAITING);
 
-        verify(bookingRepository, times(1)).findAllByBooker_IdOrderByStartDesc(anyLong(), any());
+        verify(bookingRepository, times(1)).findAllByBooker(anyLong(), any());
     }
 
     @Test
@@ -293,7 +292,7 @@ public class BookingServiceImplTests {
     @Test
     void getAllByBookerWithoutBookings() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdOrderByStartDesc(anyLong(), any()))
+        when(bookingRepository.findAllByBooker(anyLong(), any()))
                 .thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
@@ -304,22 +303,22 @@ public class BookingServiceImplTests {
     @Test
     void getAllByBookerWithStateWaiting() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(Optional.of(List.of(notApproveBooking)));
+        when(bookingRepository.findAllByBookerAndStatus(anyLong(), any(), any()))
+                .thenReturn(Optional.of(toDtos(notApproveBooking)));
 
-        List<Booking> bookings = bookingService.getAll(2L, "WAITING", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAll(2L, "WAITING", 0, 2);
         assertNotEquals(bookings, null);
         assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.WAITING);
 
         verify(bookingRepository, times(1))
-                .findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), any(), any());
+                .findAllByBookerAndStatus(anyLong(), any(), any());
     }
 
     @Test
     void getAllByBookerWithStateWaitingNotFound() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findAllByBookerAndStatus(anyLong(), any(), any()))
                 .thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
@@ -339,10 +338,10 @@ public class BookingServiceImplTests {
                 .status(BookingStatus.REJECTED)
                 .build();
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(Optional.of(List.of(rejectedBooking)));
+        when(bookingRepository.findAllByBookerAndStatus(anyLong(), any(), any()))
+                .thenReturn(Optional.of(toDtos(rejectedBooking)));
 
-        List<Booking> bookings = bookingService.getAll(2L, "REJECTED", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAll(2L, "REJECTED", 0, 2);
         assertNotEquals(bookings, null);
         assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.REJECTED);
@@ -351,7 +350,7 @@ public class BookingServiceImplTests {
     @Test
     void getAllByBookerWithStateRejectedNotFound() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findAllByBookerAndStatus(anyLong(), any(), any()))
                 .thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
@@ -363,22 +362,22 @@ public class BookingServiceImplTests {
     @Test
     void getAllByBookerWithStatePast() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(Optional.of(List.of(booking, notApproveBooking)));
+        when(bookingRepository.findPastByBooker(anyLong(), any(), any()))
+                .thenReturn(Optional.of(toDtos(booking, notApproveBooking)));
 
-        List<Booking> bookings = bookingService.getAll(2L, "PAST", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAll(2L, "PAST", 0, 2);
         assertNotEquals(bookings, null);
         assertEquals(bookings.size(), 2);
-        assertTrue(bookings.get(0).getEnd().isBefore(date));
-        assertTrue(bookings.get(1).getEnd().isBefore(date));
+        assertTrue(bookings.get(0).getEndDate().isBefore(date));
+        assertTrue(bookings.get(1).getEndDate().isBefore(date));
 
-        verify(bookingRepository, times(1)).findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findPastByBooker(anyLong(), any(), any());
     }
 
     @Test
     void getAllByBookerWithStatePastNotFound() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findPastByBooker(anyLong(), any(), any()))
                 .thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
@@ -390,10 +389,10 @@ public class BookingServiceImplTests {
     @Test
     void getAllByBookerWithStateFuture() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findFutureByBooker(anyLong(), any(), any()))
                 .thenReturn(Optional.of(Collections.emptyList()));
 
-        List<Booking> bookings = bookingService.getAll(2L, "FUTURE", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAll(2L, "FUTURE", 0, 2);
         assertNotEquals(bookings, null);
         assertEquals(bookings.size(), 0);
     }
@@ -401,7 +400,7 @@ public class BookingServiceImplTests {
     @Test
     void getAllByBookerWithStateFutureNotFound() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findFutureByBooker(anyLong(), any(), any()))
                 .thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
@@ -421,19 +420,19 @@ public class BookingServiceImplTests {
                 .status(BookingStatus.APPROVED)
                 .build();
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any()))
-                .thenReturn(Optional.of(List.of(currentBooking)));
+        when(bookingRepository.findCurrentByBooker(anyLong(), any(), any()))
+                .thenReturn(Optional.of(toDtos(currentBooking)));
 
-        List<Booking> bookings = bookingService.getAll(2L, "CURRENT", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAll(2L, "CURRENT", 0, 2);
         assertNotEquals(bookings, null);
         assertEquals(bookings.size(), 1);
-        assertTrue(bookings.get(0).getEnd().isAfter(date));
+        assertTrue(bookings.get(0).getEndDate().isAfter(date));
     }
 
     @Test
     void getAllByBookerWithStateCurrentNotFound() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any()))
+        when(bookingRepository.findCurrentByBooker(anyLong(), any(), any()))
                 .thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
@@ -453,7 +452,7 @@ public class BookingServiceImplTests {
 
     @Test
     void getAllByOwnerWithStateUnknownShouldThrowException() {
-        when(itemRepository.findByOwner(owner)).thenReturn(List.of(item));
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(true);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         UnsupportedStatusException exception = assertThrows(UnsupportedStatusException.class,
@@ -464,17 +463,16 @@ public class BookingServiceImplTests {
     @Test
     void getAllByOwnerId() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(any()))
-                .thenReturn(List.of(item, anotherItem));
-        when(bookingRepository.findAllByItem_IdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(List.of(booking));
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByOwner(anyLong(), any()))
+                .thenReturn(toDtos(booking));
 
-        List<Booking> bookings = bookingService.getAllBookingByOwner(1L, "ALL", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(1L, "ALL", 0, 2);
         assertNotEquals(bookings, null);
-        assertEquals(bookings.size(), 2);
+        assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.APPROVED);
 
-        verify(bookingRepository, times(2)).findAllByItem_IdOrderByStartDesc(anyLong(), any());
+        verify(bookingRepository, times(1)).findAllByOwner(anyLong(), any());
     }
 
     @Test
@@ -490,90 +488,89 @@ public class BookingServiceImplTests {
     @Test
     void getAllByOwnerIdWithStateCurrent() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(any()))
-                .thenReturn(List.of(item, anotherItem));
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByItem_IdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any()))
-                .thenReturn(List.of(booking));
+                .findCurrentByOwner(anyLong(), any(), any()))
+                .thenReturn(toDtos(booking));
 
-        List<Booking> bookings = bookingService.getAllBookingByOwner(1L, "CURRENT", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(1L, "CURRENT", 0, 2);
         assertNotEquals(bookings, null);
-        assertEquals(bookings.size(), 2);
+        assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.APPROVED);
 
-        verify(bookingRepository, times(2))
-                .findAllByItem_IdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any());
+        verify(bookingRepository, times(1))
+                .findCurrentByOwner(anyLong(), any(), any());
     }
 
     @Test
     void getAllByOwnerIdWithStateFuture() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(any()))
-                .thenReturn(List.of(item, anotherItem));
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByItem_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .findFutureByOwner(anyLong(), any(), any()))
+                .thenReturn(toDtos(booking));
 
-        List<Booking> bookings = bookingService.getAllBookingByOwner(1L, "FUTURE", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(1L, "FUTURE", 0, 2);
         assertNotEquals(bookings, null);
-        assertEquals(bookings.size(), 2);
+        assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.APPROVED);
 
-        verify(bookingRepository, times(2))
-                .findAllByItem_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+        verify(bookingRepository, times(1))
+                .findFutureByOwner(anyLong(), any(), any());
     }
 
     @Test
     void getAllByOwnerIdWithStatePast() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(any()))
-                .thenReturn(List.of(item, anotherItem));
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByItem_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .findPastByOwner(anyLong(), any(), any()))
+                .thenReturn(toDtos(booking));
 
-        List<Booking> bookings = bookingService.getAllBookingByOwner(1L, "PAST", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(1L, "PAST", 0, 2);
         assertNotEquals(bookings, null);
-        assertEquals(bookings.size(), 2);
+        assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.APPROVED);
 
-        verify(bookingRepository, times(2))
-                .findAllByItem_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(), any());
+        verify(bookingRepository, times(1))
+                .findPastByOwner(anyLong(), any(), any());
     }
 
     @Test
     void getAllByOwnerIdWithStateWaiting() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(any()))
-                .thenReturn(List.of(item, anotherItem));
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByItem_IdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .findAllByOwnerAndStatus(anyLong(), any(), any()))
+                .thenReturn(toDtos(booking));
 
-        List<Booking> bookings = bookingService.getAllBookingByOwner(1L, "WAITING", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(1L, "WAITING", 0, 2);
         assertNotEquals(bookings, null);
-        assertEquals(bookings.size(), 2);
+        assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.APPROVED);
 
-        verify(bookingRepository, times(2))
-                .findAllByItem_IdAndStatusOrderByStartDesc(anyLong(), any(), any());
+        verify(bookingRepository, times(1))
+                .findAllByOwnerAndStatus(anyLong(), any(), any());
     }
 
     @Test
     void getAllByOwnerIdWithStateRejected() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwner(any()))
-                .thenReturn(List.of(item, anotherItem));
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(true);
         when(bookingRepository
-                .findAllByItem_IdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .findAllByOwnerAndStatus(anyLong(), any(), any()))
+                .thenReturn(toDtos(booking));
 
-        List<Booking> bookings = bookingService.getAllBookingByOwner(1L, "REJECTED", 0, 2);
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(1L, "REJECTED", 0, 2);
         assertNotEquals(bookings, null);
-        assertEquals(bookings.size(), 2);
+        assertEquals(bookings.size(), 1);
         assertEquals(bookings.get(0).getStatus(), BookingStatus.APPROVED);
 
-        verify(bookingRepository, times(2))
-                .findAllByItem_IdAndStatusOrderByStartDesc(anyLong(), any(), any());
+        verify(bookingRepository, times(1))
+                .findAllByOwnerAndStatus(anyLong(), any(), any());
+    }
+
+    private List<BookingResponseDto> toDtos(Booking... bookings) {
+        return Arrays.stream(bookings).map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
 }
\ No newline at end of file
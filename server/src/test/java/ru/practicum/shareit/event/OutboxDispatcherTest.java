@@ -0,0 +1,242 @@
+package ru.practicum.shareit.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1",
+        "shareit.outbox.enabled=false",
+        "shareit.outbox.batch-size=2",
+        "shareit.outbox.max-attempts=2",
+        "shareit.outbox.visibility-delay=0s"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class OutboxDispatcherTest {
+    private final OutboxDispatcher dispatcher;
+    private final OutboxPublisher publisher;
+    private final RecordingSubscriber subscriber;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry registry;
+    private final OutboxProperties properties;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from outbox");
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("update outbox_lease set holder = null, expires = ?", LocalDateTime.now().minusDays(1));
+        subscriber.received.clear();
+        subscriber.failOn = event -> false;
+        properties.setVisibilityDelay(Duration.ZERO);
+        properties.setParkingReleasesAggregate(false);
+        owner = userService.create(UserDto.builder().name("Owner").email("owner@mail.ru").build());
+    }
+
+    @Test
+    void eventIsWrittenOnlyWhenTheChangeCommits() {
+        itemService.create(owner.getId(), item("Drill"));
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.create(owner.getId(), item("Saw"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, count("items"));
+        assertEquals(1, count("outbox"));
+        assertThrows(IllegalTransactionStateException.class,
+                () -> publisher.publish(new ItemChanged(1, owner.getId(), ItemChanged.Change.CREATED)));
+    }
+
+    @Test
+    void drainDeliversEventsInOrderAndEmptiesOutbox() {
+        User booker = userService.create(UserDto.builder().name("Booker").email("booker@mail.ru").build());
+        long itemId = itemService.create(owner.getId(), item("Drill")).getId();
+        itemService.update(owner.getId(), itemId, ItemDto.builder().name("Hammer drill").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = bookingService.add(booker.getId(), BookingRequestDto.builder()
+                .itemId(itemId).startDate(start).endDate(start.plusDays(1)).build());
+        bookingService.bookingConfirmation(owner.getId(), booking.getId(), true);
+
+        assertEquals(4, dispatcher.drain());
+
+        assertEquals(List.of("ItemChanged", "ItemChanged", "BookingCreated", "BookingStatusChanged"),
+                subscriber.types());
+        assertEquals(ItemChanged.Change.UPDATED, ((ItemChanged) subscriber.received.get(1)).getChange());
+        BookingStatusChanged approved = (BookingStatusChanged) subscriber.received.get(3);
+        assertEquals(booking.getId(), approved.getBookingId());
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+        assertEquals(0, count("outbox"));
+        assertTrue(registry.get("shareit.outbox.lag").tag("type", "BookingCreated").timer().count() > 0);
+        assertEquals(0, registry.get("shareit.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void failedEventBlocksOnlyLaterEventsOfItsAggregate() {
+        long failing = itemService.create(owner.getId(), item("Drill")).getId();
+        long healthy = itemService.create(owner.getId(), item("Saw")).getId();
+        itemService.update(owner.getId(), failing, ItemDto.builder().name("Hammer drill").build());
+        itemService.update(owner.getId(), healthy, ItemDto.builder().name("Jigsaw").build());
+        subscriber.failOn = event -> event.getAggregateId() == failing;
+
+        assertEquals(2, dispatcher.drain());
+
+        assertEquals(List.of(healthy, healthy), subscriber.aggregateIds());
+        assertEquals(2, count("outbox"));
+        assertEquals(1, jdbcTemplate.queryForObject("select max(attempts) from outbox", Integer.class));
+        assertEquals(2, registry.get("shareit.outbox.pending").gauge().value());
+
+        subscriber.received.clear();
+        subscriber.failOn = event -> false;
+        assertEquals(2, dispatcher.drain());
+
+        assertEquals(List.of(failing, failing), subscriber.aggregateIds());
+        assertEquals(List.of(ItemChanged.Change.CREATED, ItemChanged.Change.UPDATED),
+                List.of(((ItemChanged) subscriber.received.get(0)).getChange(),
+                        ((ItemChanged) subscriber.received.get(1)).getChange()));
+        assertEquals(0, count("outbox"));
+    }
+
+    @Test
+    void parkedEventKeepsBlockingItsAggregateByDefault() {
+        long poisoned = parkFirstEventOfNewItem();
+        long healthy = itemService.create(owner.getId(), item("Saw")).getId();
+
+        assertEquals(1, dispatcher.drain());
+
+        assertEquals(List.of(healthy), subscriber.aggregateIds());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from outbox where aggregate_id = ? "
+                + "and parked = false", Integer.class, poisoned));
+        assertEquals(1, registry.get("shareit.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void parkingCanReleaseTheAggregate() {
+        properties.setParkingReleasesAggregate(true);
+        long poisoned = parkFirstEventOfNewItem();
+
+        assertEquals(1, dispatcher.drain());
+
+        assertEquals(List.of(poisoned), subscriber.aggregateIds());
+        assertEquals(1, count("outbox"));
+        assertEquals(0, registry.get("shareit.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void rowsYoungerThanTheVisibilityDelayWaitForALaterDrain() {
+        itemService.create(owner.getId(), item("Drill"));
+        properties.setVisibilityDelay(Duration.ofMinutes(1));
+
+        assertEquals(0, dispatcher.drain());
+        assertEquals(1, count("outbox"));
+
+        properties.setVisibilityDelay(Duration.ZERO);
+        assertEquals(1, dispatcher.drain());
+    }
+
+    @Test
+    void onlyTheLeaseHolderDrains() {
+        itemService.create(owner.getId(), item("Drill"));
+        jdbcTemplate.update("update outbox_lease set holder = 'other', expires = ?",
+                LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(0, dispatcher.drain());
+        assertEquals(1, count("outbox"));
+
+        jdbcTemplate.update("update outbox_lease set expires = ?", LocalDateTime.now().minusSeconds(1));
+        assertEquals(1, dispatcher.drain());
+        assertEquals(0, count("outbox"));
+    }
+
+    private long parkFirstEventOfNewItem() {
+        long poisoned = itemService.create(owner.getId(), item("Drill")).getId();
+        itemService.update(owner.getId(), poisoned, ItemDto.builder().name("Hammer drill").build());
+        subscriber.failOn = event -> event instanceof ItemChanged
+                && ((ItemChanged) event).getChange() == ItemChanged.Change.CREATED;
+
+        assertEquals(0, dispatcher.drain());
+        assertEquals(0, dispatcher.drain());
+        assertEquals(1, registry.get("shareit.outbox.parked").gauge().value());
+        assertEquals(1, registry.get("shareit.outbox.pending").gauge().value());
+        subscriber.failOn = event -> false;
+        return poisoned;
+    }
+
+    private static ItemDto item(String name) {
+        return ItemDto.builder().name(name).description(name).available(true).build();
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+
+    static class RecordingSubscriber implements DomainEventSubscriber<DomainEvent> {
+        private final List<DomainEvent> received = new ArrayList<>();
+        private Predicate<DomainEvent> failOn = event -> false;
+
+        @Override
+        public Class<DomainEvent> eventType() {
+            return DomainEvent.class;
+        }
+
+        @Override
+        public void on(DomainEvent event) {
+            if (failOn.test(event)) {
+                throw new IllegalStateException("Subscriber failed on " + event.getAggregateId());
+            }
+            received.add(event);
+        }
+
+        List<String> types() {
+            List<String> types = new ArrayList<>();
+            received.forEach(event -> types.add(event.getClass().getSimpleName()));
+            return types;
+        }
+
+        List<Long> aggregateIds() {
+            List<Long> ids = new ArrayList<>();
+            received.forEach(event -> ids.add(event.getAggregateId()));
+            return ids;
+        }
+    }
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
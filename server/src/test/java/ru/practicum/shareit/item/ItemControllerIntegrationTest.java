@@ -11,14 +11,21 @@ import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.sql.StatementCounter;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,7 +33,9 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 
 @Transactional
 @SpringBootTest(
@@ -154,4 +163,147 @@ public class ItemControllerIntegrationTest {
         assertThat(comment1.getId(), notNullValue());
         assertThat(comment1.getText(), equalTo("this is comment"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void importNdjsonReportsRowErrorsAndPersistsValidRows() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        ItemRequest request = ItemRequest.builder().description("Need a drill").requestor(ownerCreated)
+                .created(LocalDateTime.now()).build();
+        entityManager.persist(request);
+        String body = "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n"
+                + "{\"name\":\"Saw\",\n"
+                + "{\"name\":\" \",\"description\":\"Blank\",\"available\":true}\n"
+                + "\n"
+                + "{\"name\":\"Ladder\",\"description\":\"Tall\",\"available\":false,\"requestId\":"
+                + request.getId() + "}\n"
+                + "{\"name\":\"Tent\",\"description\":\"Big\",\"available\":true,\"requestId\":999}\n";
+
+        ItemImportResult result = itemService.importItems(ownerCreated.getId(), ItemImportFormat.NDJSON,
+                stream(body));
+
+        assertThat(result.getImported(), equalTo(2L));
+        assertThat(result.getFailed(), equalTo(3L));
+        assertThat(result.getErrors().get(0).getLine(), equalTo(2L));
+        assertThat(result.getErrors().get(1).getMessage(), equalTo("name must not be blank"));
+        assertThat(result.getErrors().get(2).getLine(), equalTo(6L));
+        assertThat(result.getErrors().get(2).getMessage(), equalTo("Request 999 not found"));
+        List<Item> imported = entityManager.createQuery("select i from Item i where i.owner.id = :owner "
+                        + "order by i.id", Item.class)
+                .setParameter("owner", ownerCreated.getId())
+                .getResultList();
+        assertThat(imported, hasSize(2));
+        assertThat(imported.get(1).getItemRequest().getId(), equalTo(request.getId()));
+    }
+
+    @Test
+    void importCsvUsesHeaderOrderAndQuotedValues() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        String body = "available,name,description\n"
+                + "true,\"Drill, cordless\",\"The \"\"best\"\" drill\"\n"
+                + "maybe,Saw,Sharp\n"
+                + "false,Kayak\n";
+
+        ItemImportResult result = itemService.importItems(ownerCreated.getId(), ItemImportFormat.CSV,
+                stream(body));
+
+        assertThat(result.getImported(), equalTo(1L));
+        assertThat(result.getErrors().get(0).getMessage(), equalTo("available must be true or false but was maybe"));
+        assertThat(result.getErrors().get(1).getMessage(), equalTo("Expected 3 columns but got 2"));
+        Item imported = entityManager.createQuery("select i from Item i where i.owner.id = :owner", Item.class)
+                .setParameter("owner", ownerCreated.getId())
+                .getSingleResult();
+        assertThat(imported.getName(), equalTo("Drill, cordless"));
+        assertThat(imported.getDescription(), equalTo("The \"best\" drill"));
+    }
+
+    @Test
+    void importNdjsonRejectsRowsThatAreNotASingleObject() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        String body = "null\n"
+                + "5\n"
+                + "[{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}]\n"
+                + "{\"name\":\"Saw\",\"description\":\"Sharp\",\"available\":true} {\"name\":\"Axe\"}\n"
+                + "{\"name\":\"Ladder\",\"description\":\"Tall\",\"available\":false}\n";
+
+        ItemImportResult result = itemService.importItems(ownerCreated.getId(), ItemImportFormat.NDJSON,
+                stream(body));
+
+        assertThat(result.getImported(), equalTo(1L));
+        assertThat(result.getFailed(), equalTo(4L));
+        assertThat(result.getErrors().get(0).getMessage(), equalTo("Row must be a JSON object"));
+        assertThat(result.getErrors().get(1).getMessage(), equalTo("Row must be a JSON object"));
+        assertThat(result.getErrors().get(2).getMessage(), equalTo("Row must be a JSON object"));
+        assertThat(result.getErrors().get(3).getLine(), equalTo(4L));
+        assertThat(result.getErrors().get(3).getMessage(), startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importCsvReadsQuotedValuesAcrossLines() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        String body = "name,description,available\n"
+                + "Drill,\"Cordless\n\nwith \"\"two\"\" batteries\",true\n"
+                + "Saw,Sharp,maybe\n";
+
+        ItemImportResult result = itemService.importItems(ownerCreated.getId(), ItemImportFormat.CSV,
+                stream(body));
+
+        assertThat(result.getImported(), equalTo(1L));
+        assertThat(result.getErrors().get(0).getLine(), equalTo(5L));
+        Item imported = entityManager.createQuery("select i from Item i where i.owner.id = :owner", Item.class)
+                .setParameter("owner", ownerCreated.getId())
+                .getSingleResult();
+        assertThat(imported.getDescription(), equalTo("Cordless\n\nwith \"two\" batteries"));
+    }
+
+    @Test
+    void importReportsOverlongValuesPerRowAndKeepsTheRest() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        String body = "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n"
+                + "{\"name\":\"" + "N".repeat(101) + "\",\"description\":\"Long name\",\"available\":true}\n"
+                + "{\"name\":\"Saw\",\"description\":\"" + "D".repeat(201) + "\",\"available\":true}\n";
+
+        ItemImportResult result = itemService.importItems(ownerCreated.getId(), ItemImportFormat.NDJSON,
+                stream(body));
+
+        assertThat(result.getImported(), equalTo(1L));
+        assertThat(result.getErrors().get(0).getLine(), equalTo(2L));
+        assertThat(result.getErrors().get(0).getMessage(), equalTo("name must be at most 100 characters"));
+        assertThat(result.getErrors().get(1).getMessage(), equalTo("description must be at most 200 characters"));
+    }
+
+    @Test
+    void importStreamsLargeBodiesInBatches() throws IOException {
+        User ownerCreated = userService.create(UserMapper.toUserDto(owner));
+        int rows = 5000;
+        InputStream body = new InputStream() {
+            private byte[] line = new byte[0];
+            private int position;
+            private int row;
+
+            @Override
+            public int read() {
+                if (position == line.length) {
+                    if (row == rows) {
+                        return -1;
+                    }
+                    row++;
+                    line = ("{\"name\":\"Item" + row + "\",\"description\":\"Generated\",\"available\":true}\n")
+                            .getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                }
+                return line[position++];
+            }
+        };
+
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            ItemImportResult result = itemService.importItems(ownerCreated.getId(), ItemImportFormat.NDJSON, body);
+
+            assertThat(result.getImported(), equalTo((long) rows));
+            assertThat(recording.getCount(), lessThan(rows / 20));
+        }
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -17,6 +17,7 @@ import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
@@ -83,6 +84,34 @@ public class ItemControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void importItemsAsCsv() throws Exception {
+        ItemImportResult result = ItemImportResult.builder()
+                .imported(1)
+                .failed(1)
+                .errors(List.of(new ItemImportResult.RowError(3, "name must not be blank")))
+                .build();
+        when(itemService.importItems(eq(1L), eq(ItemImportFormat.CSV), any())).thenReturn(result);
+
+        mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("name,description,available\nDrill,Cordless,true\n,Blank,true\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[0].message", is("name must not be blank")));
+    }
+
+    @Test
+    void importItemsRejectsUnsupportedContentType() throws Exception {
+        mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
     @Test
     void updateItemName() throws Exception {
         ItemDto itemDto = ItemMapper.toItemDto(item);
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.sql.StatementCounter;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ItemInsertBatchingTest {
+    private static final int ROWS = 1000;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Test
+    void sequenceIdsLetInsertsBatch() {
+        int rowByRow = statements(1);
+        int batched = statements(50);
+
+        assertTrue(batched * 10 < rowByRow, "batched " + batched + " statements, row by row " + rowByRow);
+    }
+
+    private int statements(int batchSize) {
+        int[] count = new int[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            try (StatementCounter.Recording recording = StatementCounter.start()) {
+                User owner = User.builder().name("Owner").email("owner@mail.ru").build();
+                entityManager.persist(owner);
+                for (int row = 0; row < ROWS; row++) {
+                    entityManager.persist(Item.builder().name("Item" + row).description("Item" + row)
+                            .available(true).owner(owner).build());
+                }
+                entityManager.flush();
+                count[0] = recording.getCount();
+            }
+            status.setRollbackOnly();
+        });
+        return count[0];
+    }
+}
@@ -7,6 +7,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.event.OutboxPublisher;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentMapper;
@@ -60,6 +61,8 @@ public class ItemServiceImplTests {
     private CommentRepository commentRepository;
     @Mock
     private BookingService bookingService;
+    @Mock
+    private OutboxPublisher outboxPublisher;
 
     @Test
     void createItem() {
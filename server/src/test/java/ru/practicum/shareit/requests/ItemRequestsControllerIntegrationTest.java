@@ -98,4 +98,26 @@ public class ItemRequestsControllerIntegrationTest {
         assertThat(requests, notNullValue());
         assertThat(requests.get(0).getDescription(), equalTo("itemRequestDescription"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllOtherRequestsPagesWithCursor() {
+        User requesterCreated = userService.create(UserMapper.toUserDto(requester));
+        User userCreated = userService.create(UserMapper.toUserDto(owner));
+        itemRequestService.save(itemRequest, userCreated.getId());
+        itemRequestService.save(ItemRequestDto.builder().description("own").build(), requesterCreated.getId());
+        itemRequestService.save(anotherItemRequest, userCreated.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemRequestResponseDto> firstPage = itemRequestService
+                .findAllWithPageable(requesterCreated.getId(), 0, 1);
+        assertThat(firstPage.size(), equalTo(1));
+        assertThat(firstPage.get(0).getDescription(), equalTo("itemRequestDescription"));
+
+        ItemRequestResponseDto last = firstPage.get(0);
+        List<ItemRequestResponseDto> nextPage = itemRequestService
+                .findAllAfter(requesterCreated.getId(), last.getCreated(), last.getId(), 10);
+        assertThat(nextPage.size(), equalTo(1));
+        assertThat(nextPage.get(0).getDescription(), equalTo("anotherItemRequestDescription"));
+    }
+}
@@ -20,6 +20,9 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -136,6 +139,24 @@ public class ItemRequestsControllerTests {
                 .andExpect(jsonPath("$[0].description", is(itemRequest.getDescription())));
     }
 
+    @Test
+    void getAllRequestsAfterCursor() throws Exception {
+        when(itemRequestService.findAllAfter(anyLong(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(ItemRequestMapper.toItemRequestResponseDto(itemRequest, Collections.emptyList())));
+
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("afterCreated", "2022-09-01T10:00:00")
+                        .param("afterId", "5")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        verify(itemRequestService, times(1))
+                .findAllAfter(1L, LocalDateTime.of(2022, 9, 1, 10, 0), 5L, 2);
+        verify(itemRequestService, never()).findAllWithPageable(anyLong(), anyInt(), anyInt());
+    }
+
     @Test
     void getAllRequestsWithoutParam() throws Exception {
         when(itemRequestService.findAllWithPageable(anyLong(), anyInt(), anyInt()))
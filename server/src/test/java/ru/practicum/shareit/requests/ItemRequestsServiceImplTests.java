@@ -5,10 +5,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
@@ -24,9 +22,11 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -133,18 +133,52 @@ public class ItemRequestsServiceImplTests {
 
     @Test
     void findAllRequest() {
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("created"));
+        Pageable pageable = PageRequest.of(0, 10);
+        item.setItemRequest(anotherItemRequest);
+        anotherItem.setItemRequest(anotherItemRequest);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(requester));
-        when(itemRepository.findAllByItemRequestId(anyLong())).thenReturn(List.of(item, anotherItem));
-        when(itemRequestRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(itemRequest, anotherItemRequest)));
+        when(itemRepository.findAllByItemRequestIdIn(anyCollection())).thenReturn(List.of(item, anotherItem));
+        when(itemRequestRepository.findAllByRequestorIdNot(2L, pageable)).thenReturn(List.of(anotherItemRequest));
 
         List<ItemRequestResponseDto> foundItemRequest = itemRequestService.findAllWithPageable(2L, 0, 10);
         assertNotEquals(foundItemRequest, null);
         assertEquals(1, foundItemRequest.size());
         assertEquals(anotherItemRequest.getDescription(), foundItemRequest.get(0).getDescription());
+        assertEquals(2, foundItemRequest.get(0).getItems().size());
+
+        verify(itemRequestRepository, times(1)).findAllByRequestorIdNot(2L, pageable);
+        verify(itemRepository, times(1)).findAllByItemRequestIdIn(Set.of(anotherItemRequest.getId()));
+    }
+
+    @Test
+    void findAllRequestAfterCursor() {
+        LocalDateTime created = LocalDateTime.now();
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(itemRequestRepository.findAllByRequestorIdNotAfter(2L, created, 1L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(anotherItemRequest));
+
+        List<ItemRequestResponseDto> foundItemRequest = itemRequestService.findAllAfter(2L, created, 1L, 10);
+        assertEquals(1, foundItemRequest.size());
+        assertEquals(anotherItemRequest.getId(), foundItemRequest.get(0).getId());
+        assertTrue(foundItemRequest.get(0).getItems().isEmpty());
+    }
+
+    @Test
+    void findAllOwnRequestsGroupsItemsByRequest() {
+        item.setItemRequest(itemRequest);
+        anotherItem.setItemRequest(anotherItemRequest);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requester));
+        when(itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(anyLong()))
+                .thenReturn(List.of(itemRequest, anotherItemRequest));
+        when(itemRepository.findAllByItemRequestIdIn(anyCollection())).thenReturn(List.of(item, anotherItem));
+
+        List<ItemRequestResponseDto> foundItemRequests = itemRequestService.findAll(2L);
+        assertEquals(2, foundItemRequests.size());
+        assertEquals(item.getId(), foundItemRequests.get(0).getItems().get(0).getId());
+        assertEquals(anotherItem.getId(), foundItemRequests.get(1).getItems().get(0).getId());
 
-        verify(itemRequestRepository, times(1))
-                .findAll(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "created")));
+        verify(itemRepository, times(1)).findAllByItemRequestIdIn(anyCollection());
+        verify(itemRepository, never()).findAllByItemRequestId(anyLong());
     }
 
     @Test
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingTest.PRIMARY_URL,
+        "shareit.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "shareit.datasource.replica.username=test",
+        "shareit.datasource.replica.password=test"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReadWriteRoutingTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static final long SHARED_USER = 1000;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final MockMvc mvc;
+
+    @BeforeAll
+    static void createReplica() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "test", "test");
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+            statement.execute("insert into users (user_id, user_name, email) values (" + SHARED_USER
+                    + ", 'Replica', 'shared@mail.ru')");
+        }
+    }
+
+    @BeforeEach
+    void createSharedUserOnPrimary() {
+        jdbcTemplate.update("merge into users (user_id, user_name, email) values (?, 'Primary', 'shared@mail.ru')",
+                SHARED_USER);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        User created = userService.create(UserDto.builder().name("Created").email("created@mail.ru").build());
+
+        List<String> names = userService.getAll().stream().map(User::getName).collect(Collectors.toList());
+
+        assertEquals(List.of("Replica"), names);
+        assertEquals("Created", jdbcTemplate.queryForObject("select user_name from users where user_id = ?",
+                String.class, created.getId()));
+    }
+
+    @Test
+    void readOnlyTransactionsFlushManuallyAndSkipDirtyChecking() {
+        transactionTemplate.setReadOnly(true);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+                assertTrue(session.isDefaultReadOnly());
+                entityManager.find(User.class, SHARED_USER).setName("Changed");
+            });
+        } finally {
+            transactionTemplate.setReadOnly(false);
+        }
+
+        assertEquals("Replica", userService.getById(SHARED_USER).getName());
+    }
+
+    @Test
+    void requestMixingReadsAndWritesSendsWritesToPrimary() throws Exception {
+        mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", SHARED_USER)
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from items where owner_id = ?",
+                Integer.class, SHARED_USER));
+    }
+}
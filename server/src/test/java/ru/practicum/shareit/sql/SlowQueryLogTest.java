@@ -0,0 +1,75 @@
+package ru.practicum.shareit.sql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"db.name=test", "shareit.slow-query.threshold=0ms"})
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SlowQueryLogTest {
+    private final MockMvc mvc;
+    private final SlowQueryLog slowQueryLog;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void keepsOnlyTheSlowestStatements() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ZERO);
+        properties.setCapacity(2);
+        SlowQueryLog log = new SlowQueryLog(properties);
+
+        for (long micros : new long[]{5, 1, 9, 3}) {
+            log.record("select " + micros, new Object[]{micros}, micros * 1000);
+        }
+
+        List<SlowQuery> slowest = log.slowest();
+        assertEquals(List.of(9L, 5L), slowest.stream().map(SlowQuery::getDurationMicros).collect(Collectors.toList()));
+        assertEquals(List.of("9"), slowest.get(0).getBinds());
+        assertEquals("unknown", slowest.get(0).getCaller());
+    }
+
+    @Test
+    void capturesBindsAndRepositoryMethodAndExposesThemOnActuator() throws Exception {
+        slowQueryLog.clear();
+        bookingRepository.findAllByOwner(42L, PageRequest.of(0, 10));
+
+        SlowQuery query = slowQueryLog.slowest().stream()
+                .filter(slow -> slow.getCaller().equals("BookingRepository.findAllByOwner"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(query.getSql().contains("owner_id"));
+        assertEquals("42", query.getBinds().get(0));
+
+        mvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.caller == 'BookingRepository.findAllByOwner')].binds[0]").value("42"));
+    }
+
+    @Test
+    void closingTheTimedDataSourceClosesTheWrappedPool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:timed-data-source-close");
+        TimedDataSource dataSource = new TimedDataSource(pool, slowQueryLog);
+
+        dataSource.close();
+
+        assertTrue(pool.isClosed());
+    }
+}
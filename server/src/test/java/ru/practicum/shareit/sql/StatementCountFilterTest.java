@@ -0,0 +1,51 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StatementCountFilterTest {
+    private static final String SELECT_ITEM = "select * from items where item_id=?";
+
+    @Test
+    void statementsAfterTheFirstByteAreRecordedInTheSummary() throws Exception {
+        StatementCountProperties properties = new StatementCountProperties();
+        properties.setHeader(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountingStatementInspector inspector = new CountingStatementInspector();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new StatementCountFilter(properties, registry).doFilter(new MockHttpServletRequest("GET", "/items/1"),
+                response, (req, res) -> {
+                    inspector.inspect(SELECT_ITEM);
+                    res.getOutputStream().write('[');
+                    res.flushBuffer();
+                    inspector.inspect(SELECT_ITEM);
+                    res.getOutputStream().write(']');
+                });
+
+        assertEquals("1", response.getHeader(StatementCountFilter.HEADER));
+        DistributionSummary summary = registry.get(StatementCountFilter.METRIC).tag("route", "items").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    void unknownPathsShareOneRouteTag() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatementCountFilter filter = new StatementCountFilter(new StatementCountProperties(), registry);
+
+        for (String uri : new String[]{"/actuator/health", "/favicon.ico", "/a1b2c3"}) {
+            filter.doFilter(new MockHttpServletRequest("GET", uri), new MockHttpServletResponse(), (req, res) -> {
+            });
+        }
+
+        assertEquals(1, registry.find(StatementCountFilter.METRIC).summaries().size());
+        assertEquals(3, registry.get(StatementCountFilter.METRIC).tag("route", StatementCountFilter.OTHER_ROUTE)
+                .summary().count());
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StatementCounterTest {
+    private static final String SELECT_ITEM = "select * from items where item_id=?";
+    private static final String SELECT_USER = "select * from users where user_id=?";
+
+    @Test
+    void repeatedStatementsAreReportedAndNestedRecordingsRollUp() {
+        CountingStatementInspector inspector = new CountingStatementInspector();
+        inspector.inspect(SELECT_USER);
+        try (StatementCounter.Recording request = StatementCounter.start()) {
+            inspector.inspect(SELECT_USER);
+            try (StatementCounter.Recording loop = StatementCounter.start()) {
+                for (int i = 0; i < 3; i++) {
+                    inspector.inspect(SELECT_ITEM);
+                }
+                assertEquals(3, loop.getCount());
+            }
+            inspector.inspect(SELECT_USER);
+
+            assertEquals(5, request.getCount());
+            assertEquals(Map.of(SELECT_ITEM, 3, SELECT_USER, 2), request.repeated());
+        }
+        try (StatementCounter.Recording after = StatementCounter.start()) {
+            assertEquals(0, after.getCount());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -20,9 +21,13 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -125,6 +130,40 @@ public class UserControllerTests {
                 .andExpect(jsonPath("$.email", is(userDto.getEmail())));
     }
 
+    @Test
+    void getUserByIdShouldReturnNotModifiedForMatchingETag() throws Exception {
+        long id = 1L;
+        when(userService.getById(id)).thenReturn(UserMapper.toUser(userDto));
+
+        String etag = mvc.perform(get("/users/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/users/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getUserByIdShouldChangeETagWhenUserChanges() throws Exception {
+        long id = 1L;
+        when(userService.getById(id)).thenReturn(UserMapper.toUser(userDto));
+        String etag = mvc.perform(get("/users/" + id))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        when(userService.getById(id)).thenReturn(UserMapper.toUser(anotherUserDto));
+
+        mvc.perform(get("/users/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
     @Test
     void getUserByIdWithUnknownIdShouldThrowException() throws Exception {
         long unknownId = 11L;
@@ -135,6 +174,17 @@ public class UserControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void errorMessageIsLabelledAsTextWhenSmileIsAccepted() throws Exception {
+        long unknownId = 11L;
+        when(userService.getById(unknownId))
+                .thenThrow(new NoSuchElementException("User By id + " + unknownId + " not found"));
+
+        mvc.perform(get("/users/" + unknownId).accept("application/x-jackson-smile"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"));
+    }
+
     @Test
     void getAllUsers() throws Exception {
         when(userService.getAll()).thenReturn(List.of(UserMapper.toUser(userDto), UserMapper.toUser(anotherUserDto)));
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.web.ConcurrencyLimiter.Lane.READ;
+import static ru.practicum.shareit.web.ConcurrencyLimiter.Lane.WRITE;
+
+public class ConcurrencyLimiterTest {
+    private static final long FAST = 10_000_000;
+    private static final long SLOW = 80_000_000;
+
+    @Test
+    void limitGrowsWhileLatencyIsFlatAndShrinksWhenItRises() {
+        GradientLimit limit = new GradientLimit(properties(20, 4, 200));
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(FAST, limit.getLimit());
+        }
+        int steady = limit.getLimit();
+        assertTrue(steady > 20);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(SLOW, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() < steady / 2);
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    @Test
+    void writesKeepTheirLaneWhenReadsSaturate() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new GradientLimit(properties(8, 8, 8)), 0.75);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limiter.tryAcquire(READ));
+        }
+        assertFalse(limiter.tryAcquire(READ));
+        assertTrue(limiter.tryAcquire(WRITE));
+        assertTrue(limiter.tryAcquire(WRITE));
+        assertFalse(limiter.tryAcquire(WRITE));
+
+        limiter.release(WRITE, FAST);
+        assertEquals(1, limiter.inFlight(WRITE));
+        assertEquals(6, limiter.inFlight(READ));
+    }
+
+    @Test
+    void filterShedsExcessRequestsWithServiceUnavailable() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new GradientLimit(properties(4, 4, 4)), 0.75);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(READ));
+        }
+
+        MockHttpServletResponse rejected = filter(filter, "GET", "/items/1");
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(200, filter(filter, "PATCH", "/bookings/1").getStatus());
+        assertEquals(0, limiter.inFlight(WRITE));
+    }
+
+    private static MockHttpServletResponse filter(ConcurrencyLimitFilter filter, String method, String uri)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+        return response;
+    }
+
+    private static ConcurrencyLimitProperties properties(int initialLimit, int minLimit, int maxLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(minLimit);
+        properties.setMaxLimit(maxLimit);
+        properties.setLongWindow(100);
+        return properties;
+    }
+}
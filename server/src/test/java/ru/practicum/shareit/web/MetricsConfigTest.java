@@ -0,0 +1,69 @@
+package ru.practicum.shareit.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemImportFormat;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "db.name=test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class MetricsConfigTest {
+    private final MockMvc mvc;
+    private final MeterRegistry registry;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void serviceMethodsAreTimedAndRoutesReportedOnActuator() throws Exception {
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk());
+
+        Timer timer = registry.find("shareit.service")
+                .tag("class", "ru.practicum.shareit.user.service.UserServiceImpl")
+                .tag("method", "getAll")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+
+        mvc.perform(get("/actuator/slo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.requests").value(1))
+                .andExpect(jsonPath("$.users.latencyThresholdMs").value(300))
+                .andExpect(jsonPath("$.search.latencyThresholdMs").value(500));
+    }
+
+    @Test
+    void longRunningMethodsStayOutOfTheServiceHistogram() throws IOException {
+        long ownerId = userService.create(UserDto.builder().name("Owner").email("owner@mail.ru").build()).getId();
+
+        itemService.importItems(ownerId, ItemImportFormat.NDJSON, new ByteArrayInputStream(
+                "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n"
+                        .getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(registry.find("shareit.service")
+                .tag("method", "importItems")
+                .timer());
+    }
+}
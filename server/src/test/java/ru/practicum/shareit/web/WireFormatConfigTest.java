@@ -0,0 +1,69 @@
+package ru.practicum.shareit.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoForBooking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class WireFormatConfigTest {
+    private static final int SIZE = 500;
+    private final ObjectMapper json;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void smileIsSmallerThanJsonForBookingAndItemLists() throws Exception {
+        ObjectMapper smile = smileConverter.getObjectMapper();
+        List<BookingResponseDto> bookings = bookings();
+        List<ItemDtoForBooking> items = items();
+
+        for (Object list : List.of(bookings, items)) {
+            byte[] jsonBytes = json.writeValueAsBytes(list);
+            byte[] smileBytes = smile.writeValueAsBytes(list);
+            assertEquals(json.readTree(jsonBytes), smile.readTree(smileBytes));
+            assertTrue(smileBytes.length * 2 < jsonBytes.length);
+        }
+    }
+
+    private static List<BookingResponseDto> bookings() {
+        LocalDateTime start = LocalDateTime.of(2022, 9, 1, 10, 0);
+        List<BookingResponseDto> bookings = new ArrayList<>(SIZE);
+        for (int i = 1; i <= SIZE; i++) {
+            bookings.add(new BookingResponseDto(i, 2, "Booker", "booker@mail.ru", i, "Item " + i,
+                    "Description of item " + i, true, null, start.plusDays(i), start.plusDays(i + 1),
+                    BookingStatus.APPROVED));
+        }
+        return bookings;
+    }
+
+    private static List<ItemDtoForBooking> items() {
+        LocalDateTime start = LocalDateTime.of(2022, 9, 1, 10, 0);
+        List<ItemDtoForBooking> items = new ArrayList<>(SIZE);
+        for (int i = 1; i <= SIZE; i++) {
+            items.add(ItemDtoForBooking.builder()
+                    .id(i)
+                    .name("Item " + i)
+                    .description("Description of item " + i)
+                    .available(true)
+                    .comments(List.of(new CommentDto(i, "Great item", "Booker", i, start)))
+                    .lastBooking(new ItemDtoForBooking.BookingDto(i, 2, start.minusDays(2), start.minusDays(1)))
+                    .nextBooking(new ItemDtoForBooking.BookingDto(i + 1, 2, start.plusDays(1), start.plusDays(2)))
+                    .build());
+        }
+        return items;
+    }
+}
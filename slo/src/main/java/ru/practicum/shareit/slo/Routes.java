@@ -0,0 +1,24 @@
+package ru.practicum.shareit.slo;
+
+import java.util.List;
+
+/**
+ * Coarse API routes shared by the gateway and the server for per-route limits, timers and error budgets.
+ */
+public final class Routes {
+    public static final List<String> ALL = List.of("search", "bookings", "items", "users", "requests");
+
+    private Routes() {
+    }
+
+    public static String of(String path) {
+        String[] segments = path.split("/");
+        if (segments.length < 2) {
+            return "";
+        }
+        if ("items".equals(segments[1]) && segments.length > 2 && "search".equals(segments[2])) {
+            return "search";
+        }
+        return segments[1];
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.slo;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+@Endpoint(id = "slo")
+public class SloEndpoint {
+    private final SloTracker tracker;
+
+    public SloEndpoint(SloTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> routes() {
+        return tracker.describe();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.slo;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Error budget settings, bound by each application under its own prefix.
+ */
+@Getter
+@Setter
+public class SloProperties {
+    private double objective = 0.99;
+    private Duration defaultLatency = Duration.ofMillis(500);
+    private Map<String, Duration> latency = new HashMap<>();
+    private Duration window = Duration.ofMinutes(5);
+    private int windowSlices = 10;
+
+    public Duration latency(String route) {
+        return latency.getOrDefault(route, defaultLatency);
+    }
+}
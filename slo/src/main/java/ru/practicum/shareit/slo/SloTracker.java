@@ -0,0 +1,92 @@
+package ru.practicum.shareit.slo;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+public class SloTracker {
+    private final SloProperties properties;
+    private final LongSupplier clock;
+    private final long sliceNanos;
+    private final Map<String, Budget> budgets = new LinkedHashMap<>();
+
+    public SloTracker(SloProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    SloTracker(SloProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.sliceNanos = Math.max(1, properties.getWindow().toNanos() / properties.getWindowSlices());
+        for (String route : Routes.ALL) {
+            budgets.put(route, new Budget(properties.getWindowSlices()));
+        }
+    }
+
+    public void record(String route, long nanos, boolean failed) {
+        Budget budget = budgets.get(route);
+        if (budget != null) {
+            budget.record(clock.getAsLong() / sliceNanos, failed || nanos > properties.latency(route).toNanos());
+        }
+    }
+
+    public Map<String, Map<String, Object>> describe() {
+        long slice = clock.getAsLong() / sliceNanos;
+        Map<String, Map<String, Object>> routes = new LinkedHashMap<>();
+        budgets.forEach((route, budget) -> {
+            long[] counts = budget.counts(slice);
+            double burnRate = burnRate(counts[0], counts[1]);
+            routes.put(route, Map.of(
+                    "latencyThresholdMs", properties.latency(route).toMillis(),
+                    "objective", properties.getObjective(),
+                    "windowSeconds", properties.getWindow().toSeconds(),
+                    "requests", counts[0],
+                    "badRequests", counts[1],
+                    "errorBudgetBurnRate", burnRate,
+                    "errorBudgetRemaining", Math.max(0, 1 - burnRate)));
+        });
+        return routes;
+    }
+
+    private double burnRate(long requests, long bad) {
+        return requests == 0 ? 0 : (double) bad / requests / (1 - properties.getObjective());
+    }
+
+    private static class Budget {
+        private final long[] slices;
+        private final long[] requests;
+        private final long[] bad;
+
+        Budget(int size) {
+            this.slices = new long[size];
+            this.requests = new long[size];
+            this.bad = new long[size];
+            Arrays.fill(slices, Long.MIN_VALUE);
+        }
+
+        synchronized void record(long slice, boolean failed) {
+            int i = (int) Math.floorMod(slice, (long) slices.length);
+            if (slices[i] != slice) {
+                slices[i] = slice;
+                requests[i] = 0;
+                bad[i] = 0;
+            }
+            requests[i]++;
+            if (failed) {
+                bad[i]++;
+            }
+        }
+
+        synchronized long[] counts(long slice) {
+            long[] counts = new long[2];
+            for (int i = 0; i < slices.length; i++) {
+                if (slices[i] > slice - slices.length) {
+                    counts[0] += requests[i];
+                    counts[1] += bad[i];
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.slo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SloTrackerTest {
+    private static final long MS = 1_000_000;
+
+    @Test
+    void burnRateCountsSlowAndFailedRequestsWithinTheWindow() {
+        SloProperties properties = new SloProperties();
+        properties.setObjective(0.9);
+        properties.setDefaultLatency(Duration.ofMillis(100));
+        properties.setWindow(Duration.ofSeconds(10));
+        AtomicLong clock = new AtomicLong(-3 * 1000 * MS);
+        SloTracker tracker = new SloTracker(properties, clock::get);
+
+        for (int i = 0; i < 16; i++) {
+            tracker.record("items", 10 * MS, false);
+        }
+        tracker.record("items", 200 * MS, false);
+        tracker.record("items", 10 * MS, true);
+        tracker.record("unknown", 10 * MS, true);
+
+        Map<String, Object> items = tracker.describe().get("items");
+        assertEquals(18L, items.get("requests"));
+        assertEquals(2L, items.get("badRequests"));
+        assertEquals(2.0 / 18 / 0.1, (double) items.get("errorBudgetBurnRate"), 1e-9);
+        assertEquals(0.0, (double) items.get("errorBudgetRemaining"), 1e-9);
+
+        clock.addAndGet(11 * 1000 * MS);
+        tracker.record("items", 10 * MS, false);
+        items = tracker.describe().get("items");
+        assertEquals(1L, items.get("requests"));
+        assertEquals(0.0, (double) items.get("errorBudgetBurnRate"));
+    }
+
+    @Test
+    void routesGroupPathsByTheirFirstSegment() {
+        assertEquals("items", Routes.of("/items/1"));
+        assertEquals("search", Routes.of("/items/search"));
+        assertEquals("bookings", Routes.of("/bookings/owner"));
+        assertEquals("", Routes.of("/"));
+    }
+}